@@ -0,0 +1,115 @@
+package com.example.demo.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.example.demo.model.Role;
+import com.example.demo.security.AuthTokenFilter;
+import com.example.demo.security.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste por petición de {@link AuthTokenFilter} (modo stateless, sin base de datos) con el logger
+ * del filtro a DEBUG (desarrollo) o INFO (producción). Los eventos se formatean y se escriben en un
+ * stream nulo: se mide el trabajo de logging sin la E/S.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthTokenFilterBenchmark {
+
+    private static final String SECRET = "benchmark_secret_key_long_enough_for_hs512_algorithm_minimum_512_bits_de_longitud";
+
+    @Param({"DEBUG", "INFO"})
+    private String filterLogLevel;
+
+    private AuthTokenFilter filter;
+
+    private MockHttpServletRequest withToken;
+
+    private MockHttpServletRequest withoutToken;
+
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setUp() throws Exception {
+        configureLogging(Level.toLevel(filterLogLevel));
+
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtils, "tokenCacheMaxSize", 10_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+
+        filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "statelessAuth", true);
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        filter.afterPropertiesSet();
+
+        withToken = request();
+        withToken.addHeader("Authorization", "Bearer " + jwtUtils.generateJwtToken("familia1", 1L, Role.USER));
+        withoutToken = request();
+    }
+
+    @Benchmark
+    public void requestWithToken() throws Exception {
+        doFilter(withToken);
+    }
+
+    // Peticiones públicas (GET /api/telegram/messages): sin cabecera Authorization
+    @Benchmark
+    public void requestWithoutToken() throws Exception {
+        doFilter(withoutToken);
+    }
+
+    private void doFilter(MockHttpServletRequest request) throws Exception {
+        // OncePerRequestFilter marca la petición como filtrada: se limpia para que vuelva a ejecutarse
+        request.clearAttributes();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        SecurityContextHolder.clearContext();
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/telegram/messages");
+        request.addHeader("Accept", "application/json");
+        request.addHeader("User-Agent", "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36");
+        request.addHeader("Accept-Language", "ca-ES,ca;q=0.9,es;q=0.8");
+        request.addHeader("Cookie", "_ga=GA1.1.123456789.1700000000");
+        return request;
+    }
+
+    private static void configureLogging(Level filterLevel) {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.WARN);
+        root.addAppender(appender);
+        context.getLogger(AuthTokenFilter.class).setLevel(filterLevel);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compara dos ficheros de resultados JMH en JSON (p. ej. el de main y el de una rama) y marca las
+ * regresiones que superan el umbral. Sale con código 1 si hay alguna, para poder usarlo en CI:
+ * {@code mvn -Pbenchmark exec:exec@compare -Djmh.baseline=base.json -Djmh.result.file=rama.json}
+ */
+public final class JmhResultComparator {
+
+    private JmhResultComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: JmhResultComparator <baseline.json> <actual.json> [umbral-%]");
+            System.exit(2);
+        }
+        double thresholdPercent = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "benchmark", "baseline", "actual", "cambio");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  %s%n", entry.getKey(), "-", now.score, "nuevo", now.unit);
+                continue;
+            }
+            double change = (now.score - before.score) / before.score * 100;
+            // En throughput más es mejor; en el resto de modos (tiempo) menos es mejor
+            double worse = now.higherIsBetter() ? -change : change;
+            boolean regression = worse > thresholdPercent;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), before.score, now.score,
+                    change, now.unit, regression ? "  REGRESIÓN" : "");
+        }
+        for (String missing : baseline.keySet()) {
+            if (!current.containsKey(missing)) {
+                System.out.printf("%-70s %14.3f %14s%n", missing, baseline.get(missing).score, "-");
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d regresiones por encima del %.1f%%%n", regressions, thresholdPercent);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            String benchmark = run.path("benchmark").asText();
+            String name = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+            JsonNode metric = run.path("primaryMetric");
+            results.put(name + params(run.path("params")), new Result(run.path("mode").asText(),
+                    metric.path("score").asDouble(), metric.path("scoreUnit").asText()));
+        }
+        return results;
+    }
+
+    private static String params(JsonNode params) {
+        if (params.isMissingNode() || params.isEmpty()) {
+            return "";
+        }
+        // Orden estable: JMH no garantiza el orden de los @Param en el JSON
+        Map<String, String> sorted = new TreeMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> param = it.next();
+            sorted.put(param.getKey(), param.getValue().asText());
+        }
+        return sorted.toString();
+    }
+
+    private record Result(String mode, double score, String unit) {
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.Role;
+import com.example.demo.security.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de emitir y verificar tokens con {@link JwtUtils}. {@code tokenCacheMaxSize = 0} desactiva la
+ * caché de tokens verificados: cada validación repite el parseo y el HMAC, como en un nodo recién
+ * arrancado o con tokens siempre distintos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    private static final String SECRET = "benchmark_secret_key_long_enough_for_hs512_algorithm_minimum_512_bits_de_longitud";
+
+    @Param({"0", "10000"})
+    private long tokenCacheMaxSize;
+
+    private JwtUtils jwtUtils;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtils, "tokenCacheMaxSize", tokenCacheMaxSize);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+        token = jwtUtils.generateJwtToken("familia1", 1L, Role.USER);
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return jwtUtils.generateJwtToken("familia1", 1L, Role.USER);
+    }
+
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    // Siempre parsea y verifica la firma: no pasa por la caché
+    @Benchmark
+    public String getUsernameFromJwtToken() {
+        return jwtUtils.getUsernameFromJwtToken(token);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.TelegramMessage;
+import com.example.demo.service.NewsSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de búsqueda del índice invertido en memoria con 100k mensajes sintéticos
+ * (vocabulario de avisos escolares en castellano y catalán, con acentos). En el setup se imprime
+ * el tamaño del índice: apariciones totales × 4 bytes es el coste de las listas de ids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NewsSearchIndexBenchmark {
+
+    private static final String[] COMMON = {
+            "reunión", "familias", "alumnos", "curso", "escuela", "escola", "famílies", "informació",
+            "recordad", "recordeu", "jueves", "dijous", "horario", "horari", "comedor", "menjador"};
+
+    private static final String[] RARE = {
+            "excursión", "museo", "granja", "col·legi", "festa", "carnaval", "vacunación", "biblioteca",
+            "piscina", "teatre", "concierto", "natación", "castanyada", "sant", "jordi", "graduación"};
+
+    @Param({"100000"})
+    private int messages;
+
+    private NewsSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new NewsSearchIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        Random random = new Random(42);
+        for (int i = 1; i <= messages; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int w = 0; w < 12; w++) {
+                text.append(COMMON[random.nextInt(COMMON.length)]).append(' ');
+            }
+            text.append(RARE[random.nextInt(RARE.length)]).append(' ')
+                    .append("aviso").append(random.nextInt(5000));
+            TelegramMessage message = new TelegramMessage();
+            message.setId((long) i);
+            message.setText(text.toString());
+            index.add(message);
+        }
+        long postings = index.postingCount();
+        System.out.printf("%n%d mensajes, %d términos, %d apariciones (~%d KB en listas de ids)%n",
+                messages, index.termCount(), postings, postings * Integer.BYTES / 1024);
+    }
+
+    // Término frecuente (aparece en ~la mitad de los mensajes): solo se copia la primera página
+    @Benchmark
+    public NewsSearchIndex.Hits commonTerm() {
+        return index.search("reunion", 0, 20);
+    }
+
+    @Benchmark
+    public NewsSearchIndex.Hits rareTerm() {
+        return index.search("castanyada", 0, 20);
+    }
+
+    // Intersección de un término poco frecuente con dos frecuentes
+    @Benchmark
+    public NewsSearchIndex.Hits threeTerms() {
+        return index.search("Excursión familias JUEVES", 0, 20);
+    }
+
+    @Benchmark
+    public NewsSearchIndex.Hits uniqueTerm() {
+        return index.search("aviso1234", 0, 20);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.security.PasswordEncoders;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de verificar una contraseña ({@code matches}) por algoritmo y coste, para decidir
+ * {@code security.password.encoding-id} y {@code security.password.bcrypt-strength} por nodo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String RAW_PASSWORD = "miPassword123";
+
+    @Param({"bcrypt-8", "bcrypt-10", "bcrypt-12", "pbkdf2"})
+    private String algorithm;
+
+    private PasswordEncoder encoder;
+
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        if (algorithm.startsWith(PasswordEncoders.BCRYPT)) {
+            int strength = Integer.parseInt(algorithm.substring(algorithm.indexOf('-') + 1));
+            encoder = PasswordEncoders.createDelegating(PasswordEncoders.BCRYPT, strength);
+        } else {
+            encoder = PasswordEncoders.createDelegating(algorithm, 10);
+        }
+        encodedPassword = encoder.encode(RAW_PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return encoder.matches(RAW_PASSWORD, encodedPassword);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.TelegramMessage;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de listas de {@link TelegramMessage} con un ObjectMapper configurado como el de
+ * Spring Boot. {@code objectMapper} resuelve el serializador de la lista en cada llamada;
+ * {@code typedWriter} reutiliza un {@link ObjectWriter} ya ligado a {@code List<TelegramMessage>}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TelegramMessageJsonBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int messages;
+
+    private ObjectMapper objectMapper;
+
+    private ObjectWriter typedWriter;
+
+    private List<TelegramMessage> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        typedWriter = objectMapper.writerFor(new TypeReference<List<TelegramMessage>>() { });
+
+        page = new ArrayList<>(messages);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 10, 9, 0);
+        for (int i = 0; i < messages; i++) {
+            page.add(new TelegramMessage((long) i, 1000 + i,
+                    "Reunión de familias del AFA nº " + i + ": excursión, comedor y horarios del trimestre",
+                    "@afa_lluis_braille", base.plusMinutes(i), base.plusMinutes(i)));
+        }
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] typedWriter() throws Exception {
+        return typedWriter.writeValueAsBytes(page);
+    }
+}
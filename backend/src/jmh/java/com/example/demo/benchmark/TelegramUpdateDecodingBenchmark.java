@@ -0,0 +1,94 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.TelegramChannelPost;
+import com.example.demo.model.TelegramMessage;
+import com.example.demo.service.TelegramUpdateReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodificación de una respuesta de getUpdates: árbol genérico de Maps (camino anterior) frente al
+ * parser en streaming con records tipados. Con {@code -prof gc} se ve además la asignación por operación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TelegramUpdateDecodingBenchmark {
+
+    @Param({"100", "1000"})
+    private int updates;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TelegramUpdateReader reader;
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        reader = new TelegramUpdateReader(objectMapper);
+        StringBuilder json = new StringBuilder("{\"ok\":true,\"result\":[");
+        for (int i = 0; i < updates; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"update_id\":").append(100000 + i)
+                    .append(",\"channel_post\":{\"message_id\":").append(i)
+                    .append(",\"sender_chat\":{\"id\":-1001234567890,\"title\":\"AFA Lluís Braille\",\"type\":\"channel\"}")
+                    .append(",\"chat\":{\"id\":-1001234567890,\"title\":\"AFA Lluís Braille\",\"type\":\"channel\"}")
+                    .append(",\"date\":").append(1704877200 + i)
+                    .append(",\"text\":\"Recordatorio: reunión de familias el jueves a las 17:00 en la biblioteca del centro.\"}}");
+        }
+        body = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void mapTree(Blackhole blackhole) throws IOException {
+        Map<String, Object> response = objectMapper.readValue(body, Map.class);
+        for (Map<String, Object> update : (List<Map<String, Object>>) response.get("result")) {
+            Map<String, Object> post = (Map<String, Object>) update.get("channel_post");
+            if (post != null) {
+                TelegramMessage message = new TelegramMessage();
+                message.setMessageId(((Number) post.get("message_id")).intValue());
+                message.setText((String) post.get("text"));
+                message.setMessageDate(toDate(((Number) post.get("date")).longValue()));
+                blackhole.consume(message);
+            }
+            blackhole.consume(((Number) update.get("update_id")).longValue());
+        }
+    }
+
+    @Benchmark
+    public void streamingTyped(Blackhole blackhole) throws IOException {
+        reader.read(new ByteArrayInputStream(body), update -> {
+            TelegramChannelPost post = update.channelPost();
+            if (post != null) {
+                TelegramMessage message = new TelegramMessage();
+                message.setMessageId(Math.toIntExact(post.messageId()));
+                message.setText(post.text());
+                message.setMessageDate(toDate(post.date()));
+                blackhole.consume(message);
+            }
+            blackhole.consume(update.updateId());
+        });
+    }
+
+    private static LocalDateTime toDate(long epochSeconds) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSeconds), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.dto.PageResponse;
+import com.example.demo.dto.UserResponseDTO;
+import com.example.demo.model.Role;
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Camino que sirve {@code GET /api/users}: {@link UserService#getUsers(Pageable)} con la proyección JPQL
+ * directa a {@link UserResponseDTO} (consulta de la página más COUNT) y la serialización JSON de la
+ * respuesta. Arranca la aplicación sin servidor web sobre H2 en memoria con {@value #USERS} usuarios;
+ * se piden la primera página y la última (OFFSET alto).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMappingBenchmark {
+
+    private static final int USERS = 10000;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private UserService userService;
+
+    private ObjectMapper objectMapper;
+
+    private Pageable firstPage;
+
+    private Pageable lastPage;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--telegram.ingest.worker.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.demo=WARN");
+        userService = context.getBean(UserService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        // El hash no se calcula: la columna password no se lee en este camino
+        List<User> entities = new ArrayList<>(USERS);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 10, 9, 0);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("Familia " + i);
+            user.setUsername("familia" + i);
+            user.setEmail("familia" + i + "@example.com");
+            user.setPhone("600" + String.format("%06d", i));
+            user.setPassword("$2a$10$hash");
+            user.setRole(Role.USER);
+            user.setCreatedAt(createdAt);
+            entities.add(user);
+        }
+        context.getBean(UserRepository.class).saveAll(entities);
+
+        firstPage = PageRequest.of(0, pageSize, Sort.by("id"));
+        lastPage = PageRequest.of((USERS - 1) / pageSize, pageSize, Sort.by("id"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PageResponse<UserResponseDTO> firstPage() {
+        return userService.getUsers(firstPage);
+    }
+
+    @Benchmark
+    public PageResponse<UserResponseDTO> lastPage() {
+        return userService.getUsers(lastPage);
+    }
+
+    // Lo que el controlador devuelve al cliente: página + JSON
+    @Benchmark
+    public byte[] firstPageJson() throws Exception {
+        return objectMapper.writeValueAsBytes(userService.getUsers(firstPage));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencias de un endpoint registradas por un único usuario virtual (sin sincronización);
+ * al acabar, las de todos los usuarios se combinan con {@link #merge(EndpointStats)}.
+ */
+class EndpointStats {
+
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+    private int errors;
+
+    void record(long latencyNanos, boolean ok) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        if (!ok) {
+            errors++;
+        }
+    }
+
+    void merge(EndpointStats other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.latenciesNanos[i], true);
+        }
+        errors += other.errors;
+    }
+
+    Summary summarize(String endpoint, double seconds) {
+        long[] sorted = Arrays.copyOf(latenciesNanos, count);
+        Arrays.sort(sorted);
+        return new Summary(endpoint, count, errors, count / seconds,
+                percentileMs(sorted, 0.50), percentileMs(sorted, 0.90), percentileMs(sorted, 0.99),
+                sorted.length > 0 ? sorted[sorted.length - 1] / 1e6 : 0);
+    }
+
+    // Nearest-rank: el valor por debajo del cual queda el p% de las muestras
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / 1e6;
+    }
+
+    record Summary(String endpoint, int requests, int errors, double throughput,
+                   double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+}
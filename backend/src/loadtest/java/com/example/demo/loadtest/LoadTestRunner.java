@@ -0,0 +1,407 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.model.Role;
+import com.example.demo.model.TelegramMessage;
+import com.example.demo.model.User;
+import com.example.demo.repository.TelegramMessageRepository;
+import com.example.demo.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prueba de carga reproducible: arranca la aplicación con H2 en memoria y un sustituto local de
+ * la Bot API ({@link TelegramStandIn}), siembra datos y ejecuta a la vez tres perfiles de usuario
+ * en bucle cerrado (por defecto sin tiempo de espera entre iteraciones):
+ * <ul>
+ *   <li>portada: {@code GET /api/telegram/messages}, la mitad con {@code If-None-Match};</li>
+ *   <li>tormenta de logins: {@code POST /api/auth/login} (BCrypt);</li>
+ *   <li>CRUD de administración sobre {@code /api/users}.</li>
+ * </ul>
+ * Imprime throughput y p50/p90/p99 por endpoint, guarda el resultado en JSON y, si se indica una
+ * ejecución anterior como baseline, falla (código 1) ante una regresión. También registra el máximo
+ * de peticiones simultáneas en vuelo y, en modo de hilos virtuales, los anclajes a carrier detectados.
+ * <p>
+ * {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.duration-seconds=60}
+ * <p>
+ * Hilos virtuales frente al pool de Tomcat (con una JVM 21), con muchos usuarios concurrentes:
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.landing-users=400 -Dloadtest.result-file=target/lt-platform.json
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.landing-users=400 -Dloadtest.baseline=target/lt-platform.json \
+ *     -Dloadtest.app-args=--threads.virtual.enabled=true
+ * </pre>
+ */
+public final class LoadTestRunner {
+
+    private static final String PASSWORD = "Password1";
+    private static final String CHANNEL = "@loadtest";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private long thinkTimeMs;
+    private String baseUrl;
+    private String adminToken;
+    private int seedUsers;
+
+    public static void main(String[] args) throws Exception {
+        // DevTools está en el classpath de test: sin esto la aplicación arrancaría en su classloader de reinicio
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        System.exit(new LoadTestRunner().run());
+    }
+
+    private int run() throws Exception {
+        int warmupSeconds = intSetting("warmup-seconds", 10);
+        int durationSeconds = intSetting("duration-seconds", 30);
+        int landingUsers = intSetting("landing-users", 8);
+        int loginUsers = intSetting("login-users", 4);
+        int crudUsers = intSetting("crud-users", 2);
+        seedUsers = intSetting("seed-users", 50);
+        thinkTimeMs = intSetting("think-time-ms", 0);
+        int seedMessages = intSetting("seed-messages", 500);
+
+        try (TelegramStandIn telegram = new TelegramStandIn(intSetting("post-interval-ms", 2000));
+             ConfigurableApplicationContext context = startApplication(telegram.baseUrl())) {
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            seed(context, seedMessages);
+            adminToken = login("admin");
+
+            System.out.printf("Calentamiento %ds; medición %ds con %d portada, %d login y %d CRUD%n",
+                    warmupSeconds, durationSeconds, landingUsers, loginUsers, crudUsers);
+            runPhase(warmupSeconds, landingUsers, loginUsers, crudUsers);
+            peakInFlight.set(0);
+            Map<String, EndpointStats> stats = runPhase(durationSeconds, landingUsers, loginUsers, crudUsers);
+
+            List<EndpointStats.Summary> summaries = new ArrayList<>();
+            stats.forEach((endpoint, endpointStats) ->
+                    summaries.add(endpointStats.summarize(endpoint, durationSeconds)));
+            print(summaries);
+            boolean virtualThreads = context.getEnvironment().getProperty("threads.virtual.enabled", Boolean.class, false);
+            System.out.printf("%nHilos %s; máximo de peticiones simultáneas en vuelo: %d%n",
+                    virtualThreads ? "virtuales" : "de plataforma (pool de Tomcat)", peakInFlight.get());
+            printPinning(context);
+
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("durationSeconds", durationSeconds);
+            settings.put("landingUsers", landingUsers);
+            settings.put("loginUsers", loginUsers);
+            settings.put("crudUsers", crudUsers);
+            settings.put("thinkTimeMs", thinkTimeMs);
+            settings.put("appArgs", setting("app-args", ""));
+            settings.put("virtualThreads", virtualThreads);
+            settings.put("peakConcurrentRequests", peakInFlight.get());
+            File resultFile = new File(setting("result-file", "target/loadtest-result.json"));
+            objectMapper.writerWithDefaultPrettyPrinter()
+                    .writeValue(resultFile, Map.of("settings", settings, "endpoints", summaries));
+            System.out.println("Resultado guardado en " + resultFile);
+
+            return check(summaries);
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication(String telegramBaseUrl) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--jwt.secret=load_test_secret_key_long_enough_for_hs512_algorithm_minimum_512_bits_de_longitud",
+                "--jwt.expiration=86400000",
+                "--telegram.bot.token=123456:loadtest",
+                "--telegram.channel.username=" + CHANNEL,
+                "--telegram.api.base-url=" + telegramBaseUrl,
+                "--telegram.ingest.worker.enabled=true",
+                "--telegram.ingest.poll-timeout-seconds=5",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.demo=WARN",
+                // La conexión de long polling abierta al parar la aplicación no es un error de la prueba
+                "--logging.level.reactor.netty=ERROR",
+                "--logging.level.org.apache.catalina.loader=ERROR"));
+        // Opciones de la aplicación bajo prueba, p. ej. -Dloadtest.app-args="--jwt.stateless=true"
+        String appArgs = setting("app-args", "").trim();
+        if (!appArgs.isEmpty()) {
+            args.addAll(Arrays.asList(appArgs.split("\\s+")));
+        }
+        return new SpringApplicationBuilder(DemoApplication.class).run(args.toArray(String[]::new));
+    }
+
+    // Datos directamente en la base de datos: el hash se calcula una vez y se reutiliza
+    private void seed(ConfigurableApplicationContext context, int messages) {
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        List<User> users = new ArrayList<>();
+        users.add(newUser("admin", hash, Role.ADMIN));
+        for (int i = 0; i < seedUsers; i++) {
+            users.add(newUser("familia" + i, hash, Role.USER));
+        }
+        context.getBean(UserRepository.class).saveAll(users);
+
+        List<TelegramMessage> seeded = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.now().minusDays(30);
+        for (int i = 0; i < messages; i++) {
+            // message_id negativos: no chocan con los que publica el sustituto de Telegram
+            seeded.add(new TelegramMessage(null, -1 - i, "Noticia sembrada " + i + ": horarios, comedor y actividades",
+                    CHANNEL, base.plusMinutes(i), null));
+        }
+        context.getBean(TelegramMessageRepository.class).saveAll(seeded);
+    }
+
+    private static User newUser(String username, String passwordHash, Role role) {
+        User user = new User();
+        user.setName("Carga " + username);
+        user.setUsername(username);
+        user.setEmail(username + "@loadtest.local");
+        user.setPhone("600000000");
+        user.setPassword(passwordHash);
+        user.setRole(role);
+        return user;
+    }
+
+    private Map<String, EndpointStats> runPhase(int seconds, int landingUsers, int loginUsers, int crudUsers)
+            throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, landingUsers + loginUsers + crudUsers));
+        List<Future<Map<String, EndpointStats>>> users = new ArrayList<>();
+        for (int i = 0; i < landingUsers; i++) {
+            users.add(executor.submit(() -> loop(deadline, this::landing)));
+        }
+        for (int i = 0; i < loginUsers; i++) {
+            int offset = i;
+            users.add(executor.submit(() -> loop(deadline, new LoginStorm(offset))));
+        }
+        for (int i = 0; i < crudUsers; i++) {
+            users.add(executor.submit(() -> loop(deadline, this::adminCrud)));
+        }
+
+        Map<String, EndpointStats> merged = new TreeMap<>();
+        for (Future<Map<String, EndpointStats>> user : users) {
+            user.get().forEach((endpoint, stats) -> merged.computeIfAbsent(endpoint, e -> new EndpointStats()).merge(stats));
+        }
+        executor.shutdown();
+        return merged;
+    }
+
+    private Map<String, EndpointStats> loop(long deadline, Scenario scenario) {
+        Map<String, EndpointStats> stats = new HashMap<>();
+        while (System.nanoTime() < deadline) {
+            try {
+                scenario.iterate(stats);
+                if (thinkTimeMs > 0) {
+                    Thread.sleep(thinkTimeMs);
+                }
+            } catch (IOException e) {
+                stats.computeIfAbsent("errores de conexión", endpoint -> new EndpointStats()).record(0, false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return stats;
+    }
+
+    @FunctionalInterface
+    private interface Scenario {
+        void iterate(Map<String, EndpointStats> stats) throws IOException, InterruptedException;
+    }
+
+    // Portada: primera visita y revalidación con el ETag recibido (304 si el feed no ha cambiado)
+    private void landing(Map<String, EndpointStats> stats) throws IOException, InterruptedException {
+        HttpResponse<String> first = send(stats, "GET /api/telegram/messages",
+                get("/api/telegram/messages?limit=20"), 200);
+        String etag = first.headers().firstValue("ETag").orElse(null);
+        if (etag != null) {
+            send(stats, "GET /api/telegram/messages (If-None-Match)",
+                    get("/api/telegram/messages?limit=20").header("If-None-Match", etag), 200, 304);
+        }
+    }
+
+    private final class LoginStorm implements Scenario {
+        private int next;
+
+        LoginStorm(int offset) {
+            this.next = offset;
+        }
+
+        @Override
+        public void iterate(Map<String, EndpointStats> stats) throws IOException, InterruptedException {
+            String username = "familia" + (next++ % seedUsers);
+            send(stats, "POST /api/auth/login", loginRequest(username), 200);
+        }
+    }
+
+    private void adminCrud(Map<String, EndpointStats> stats) throws IOException, InterruptedException {
+        long n = sequence.incrementAndGet();
+        send(stats, "GET /api/users", authorized(get("/api/users?page=" + (n % 3) + "&size=20")), 200);
+
+        String username = "crud" + n;
+        HttpResponse<String> created = send(stats, "POST /api/users", authorized(json("/api/users")
+                .POST(body(Map.of("name", "Alta " + n, "username", username, "email", username + "@loadtest.local",
+                        "phone", "600000000", "password", PASSWORD)))), 201);
+        if (created.statusCode() != 201) {
+            return;
+        }
+        long id = objectMapper.readTree(created.body()).path("id").asLong();
+        send(stats, "GET /api/users/{id}", authorized(get("/api/users/" + id)), 200);
+        send(stats, "PUT /api/users/{id}", authorized(json("/api/users/" + id)
+                .PUT(body(Map.of("name", "Modificado " + n, "username", username, "email", username + "@loadtest.local",
+                        "phone", "611111111", "password", PASSWORD)))), 200);
+        send(stats, "DELETE /api/users/{id}", authorized(HttpRequest.newBuilder(uri("/api/users/" + id)).DELETE()), 200);
+    }
+
+    private String login(String username) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(loginRequest(username).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login de " + username + " fallido: " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).path("token").asText();
+    }
+
+    private HttpRequest.Builder loginRequest(String username) throws IOException {
+        return json("/api/auth/login").POST(body(Map.of("username", username, "password", PASSWORD)));
+    }
+
+    private HttpResponse<String> send(Map<String, EndpointStats> stats, String endpoint, HttpRequest.Builder request,
+                                      int... expectedStatus) throws IOException, InterruptedException {
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        long elapsed = System.nanoTime() - start;
+        boolean ok = Arrays.stream(expectedStatus).anyMatch(status -> status == response.statusCode());
+        stats.computeIfAbsent(endpoint, e -> new EndpointStats()).record(elapsed, ok);
+        return response;
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET();
+    }
+
+    private HttpRequest.Builder json(String path) {
+        return HttpRequest.newBuilder(uri(path)).header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder request) {
+        return request.header("Authorization", "Bearer " + adminToken);
+    }
+
+    private HttpRequest.BodyPublisher body(Map<String, String> fields) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(fields));
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static void print(List<EndpointStats.Summary> summaries) {
+        System.out.printf("%n%-46s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "peticiones", "errores", "req/s", "p50 ms", "p90 ms", "p99 ms", "máx ms");
+        for (EndpointStats.Summary s : summaries) {
+            System.out.printf("%-46s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", s.endpoint(), s.requests(),
+                    s.errors(), s.throughput(), s.p50Ms(), s.p90Ms(), s.p99Ms(), s.maxMs());
+        }
+    }
+
+    // Solo existe en modo de hilos virtuales (VirtualThreadPinningMonitor); las pilas salen en el log en WARN
+    private static void printPinning(ConfigurableApplicationContext context) {
+        Timer pinned = context.getBean(MeterRegistry.class).find("jvm.threads.virtual.pinned").timer();
+        if (pinned != null) {
+            System.out.printf("Anclajes de hilos virtuales: %d (máx %.1f ms)%n",
+                    pinned.count(), pinned.max(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    /**
+     * Falla si algún endpoint supera la tasa de errores permitida o, con baseline, si su p99 empeora o
+     * su throughput cae más del umbral (en %).
+     */
+    private int check(List<EndpointStats.Summary> summaries) throws IOException {
+        double maxErrorRate = Double.parseDouble(setting("max-error-rate", "0.01"));
+        double threshold = Double.parseDouble(setting("threshold", "25"));
+        String baselinePath = setting("baseline", "");
+        Map<String, JsonNode> baseline = new HashMap<>();
+        if (!baselinePath.isBlank() && new File(baselinePath).isFile()) {
+            JsonNode baselineResult = objectMapper.readTree(new File(baselinePath));
+            for (JsonNode endpoint : baselineResult.path("endpoints")) {
+                baseline.put(endpoint.path("endpoint").asText(), endpoint);
+            }
+            JsonNode baselineSettings = baselineResult.path("settings");
+            System.out.printf("%nComparación con %s (umbral %.0f%%; hilos virtuales %s, máximo en vuelo %s)%n",
+                    baselinePath, threshold, baselineSettings.path("virtualThreads").asText("?"),
+                    baselineSettings.path("peakConcurrentRequests").asText("?"));
+        }
+
+        int failures = 0;
+        for (EndpointStats.Summary s : summaries) {
+            if (s.errorRate() > maxErrorRate) {
+                System.out.printf("FALLO %s: %.1f%% de errores%n", s.endpoint(), s.errorRate() * 100);
+                failures++;
+            }
+            JsonNode before = baseline.get(s.endpoint());
+            if (before == null) {
+                continue;
+            }
+            double p99Change = change(before.path("p99Ms").asDouble(), s.p99Ms());
+            double throughputChange = change(before.path("throughput").asDouble(), s.throughput());
+            boolean regression = p99Change > threshold || throughputChange < -threshold;
+            System.out.printf("%-46s p99 %+7.1f%%  req/s %+7.1f%%%s%n", s.endpoint(), p99Change, throughputChange,
+                    regression ? "  REGRESIÓN" : "");
+            if (regression) {
+                failures++;
+            }
+        }
+        return failures == 0 ? 0 : 1;
+    }
+
+    private static double change(double before, double now) {
+        return before == 0 ? 0 : (now - before) / before * 100;
+    }
+
+    private static String setting(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static int intSetting(String name, int defaultValue) {
+        return Integer.parseInt(setting(name, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demo.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sustituto local de api.telegram.org para las pruebas de carga. Solo implementa getUpdates:
+ * el canal "publica" un post cada {@code postIntervalMs} y las llamadas de long polling esperan
+ * al siguiente post (o al timeout pedido), como la Bot API real. Así la ingesta invalida la caché
+ * del feed mientras se mide la portada.
+ */
+class TelegramStandIn implements AutoCloseable {
+
+    private static final int MAX_UPDATES_PER_CALL = 100;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long startMillis = System.currentTimeMillis();
+    private final long postIntervalMs;
+
+    TelegramStandIn(long postIntervalMs) throws IOException {
+        this.postIntervalMs = postIntervalMs;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        // Cada long poll ocupa un hilo mientras espera
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "telegram-stand-in");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    // Posts "publicados" hasta ahora (ids 1..n); el update_id y el message_id coinciden
+    private long publishedCount() {
+        return (System.currentTimeMillis() - startMillis) / postIntervalMs;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestURI().getPath().endsWith("/getUpdates")) {
+                send(exchange, 404, "{\"ok\":false,\"error_code\":404,\"description\":\"Not Found\"}");
+                return;
+            }
+            long first = Math.max(queryParam(exchange.getRequestURI(), "offset", 0), 1);
+            long timeoutSeconds = queryParam(exchange.getRequestURI(), "timeout", 0);
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeoutSeconds);
+
+            while (publishedCount() < first && System.currentTimeMillis() < deadline) {
+                Thread.sleep(Math.min(postIntervalMs, 100));
+            }
+            send(exchange, 200, updates(first, Math.min(publishedCount(), first + MAX_UPDATES_PER_CALL - 1)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String updates(long first, long last) {
+        StringBuilder json = new StringBuilder("{\"ok\":true,\"result\":[");
+        long epochSeconds = startMillis / 1000;
+        for (long id = first; id <= last; id++) {
+            if (json.charAt(json.length() - 1) != '[') {
+                json.append(',');
+            }
+            json.append("{\"update_id\":").append(id)
+                    .append(",\"channel_post\":{\"message_id\":").append(id)
+                    .append(",\"date\":").append(epochSeconds + id * postIntervalMs / 1000)
+                    .append(",\"chat\":{\"id\":-100123,\"type\":\"channel\",\"username\":\"loadtest\"}")
+                    .append(",\"text\":\"Noticia ").append(id)
+                    .append(": reunión de familias, excursión y menú del comedor\"}}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static long queryParam(URI uri, String name, long defaultValue) {
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return defaultValue;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0 && pair.substring(0, separator).equals(name)) {
+                return Long.parseLong(pair.substring(separator + 1));
+            }
+        }
+        return defaultValue;
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.config;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Carga read-through sobre una {@link AsyncCache} de Caffeine ejecutando el loader fuera de la
+ * sección crítica. {@code Cache.get(key, loader)} lo ejecuta dentro de {@code ConcurrentHashMap.compute},
+ * un bloque {@code synchronized}: con una consulta JDBC dentro, un hilo virtual quedaría anclado a su
+ * carrier. Aquí dentro del compute solo se instala un futuro; quien lo instala carga y el resto espera
+ * al futuro (una sola carga por clave, como antes).
+ */
+public final class CacheLoading {
+
+    private CacheLoading() {
+    }
+
+    public static <K, V> V get(AsyncCache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> created);
+        if (future == created) {
+            try {
+                created.complete(loader.apply(key));
+            } catch (RuntimeException | Error e) {
+                // Caffeine descarta la entrada fallida: la siguiente llamada vuelve a cargar
+                created.completeExceptionally(e);
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.demo.config;
+
+import com.example.demo.security.BoundedPasswordEncoder;
+import com.example.demo.security.CachedUserDetailsService;
+import com.example.demo.security.JwtUtils;
+import com.example.demo.security.ValidatedTokenCache;
+import com.example.demo.service.NewsFeedCache;
+import com.example.demo.service.NewsSearchIndex;
+import com.example.demo.service.NewsStreamHub;
+import com.example.demo.service.TelegramIngestionWorker;
+import com.example.demo.service.TelegramWebhookQueue;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Publica en Micrometer los contadores que los componentes ya llevan (cachés, pool de hashing,
+ * cola del webhook, SSE, ingesta). Se leen en cada scrape, sin coste en el camino de la petición.
+ * Los timers de las rutas calientes se registran en cada componente; HikariCP, los repositorios
+ * de Spring Data y las peticiones HTTP los instrumenta Spring Boot Actuator.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder authCacheMetrics(JwtUtils jwtUtils, CachedUserDetailsService userDetailsService) {
+        return registry -> {
+            ValidatedTokenCache tokenCache = jwtUtils.getTokenCache();
+            if (tokenCache != null) {
+                bindCache(registry, "jwtTokens", tokenCache::stats);
+                Gauge.builder("cache.size", tokenCache, ValidatedTokenCache::size)
+                        .tag("cache", "jwtTokens")
+                        .register(registry);
+            }
+            bindCache(registry, "userDetails", userDetailsService::stats);
+            Gauge.builder("cache.size", userDetailsService, CachedUserDetailsService::size)
+                    .tag("cache", "userDetails")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordEncoder passwordEncoder) {
+        return registry -> {
+            if (!(passwordEncoder instanceof BoundedPasswordEncoder encoder)) {
+                return;
+            }
+            FunctionTimer.builder("auth.password.hash", encoder,
+                            BoundedPasswordEncoder::getHashCount,
+                            BoundedPasswordEncoder::getTotalHashNanos, TimeUnit.NANOSECONDS)
+                    .description("encode/matches ejecutados en el pool de hashing")
+                    .register(registry);
+            Gauge.builder("auth.password.hash.max", encoder, e -> e.getMaxHashNanos() / 1_000_000.0)
+                    .description("Hash más lento desde el arranque")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            FunctionCounter.builder("auth.password.hash.rejected", encoder, BoundedPasswordEncoder::getRejectedCount)
+                    .description("Hashes rechazados por cola llena o timeout (503)")
+                    .register(registry);
+            Gauge.builder("auth.password.hash.queue", encoder, BoundedPasswordEncoder::getQueueDepth)
+                    .register(registry);
+            Gauge.builder("auth.password.hash.active", encoder, BoundedPasswordEncoder::getActiveCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder telegramMetrics(NewsFeedCache feedCache, NewsStreamHub streamHub,
+                                       NewsSearchIndex searchIndex, TelegramWebhookQueue webhookQueue,
+                                       TelegramIngestionWorker ingestionWorker) {
+        return registry -> {
+            bindCache(registry, "newsFeed", feedCache::stats);
+
+            Gauge.builder("telegram.stream.subscribers", streamHub, NewsStreamHub::getSubscriberCount)
+                    .register(registry);
+            FunctionCounter.builder("telegram.stream.dropped", streamHub, NewsStreamHub::getDroppedCount)
+                    .description("Clientes SSE desconectados por no consumir a tiempo")
+                    .register(registry);
+
+            Gauge.builder("telegram.search.index.terms", searchIndex, NewsSearchIndex::termCount)
+                    .register(registry);
+            Gauge.builder("telegram.search.index.postings", searchIndex, NewsSearchIndex::postingCount)
+                    .register(registry);
+
+            Gauge.builder("telegram.webhook.queue", webhookQueue, TelegramWebhookQueue::getQueueDepth)
+                    .register(registry);
+            FunctionCounter.builder("telegram.webhook.rejected", webhookQueue, TelegramWebhookQueue::getRejectedCount)
+                    .description("Updates rechazados con 503 por cola llena")
+                    .register(registry);
+            FunctionCounter.builder("telegram.webhook.processed", webhookQueue, TelegramWebhookQueue::getProcessedCount)
+                    .register(registry);
+            FunctionCounter.builder("telegram.webhook.dropped", webhookQueue, TelegramWebhookQueue::getDroppedCount)
+                    .description("Updates ya confirmados a Telegram que no se pudieron guardar tras los reintentos")
+                    .register(registry);
+
+            for (TelegramIngestionWorker.State state : TelegramIngestionWorker.State.values()) {
+                Gauge.builder("telegram.ingest.worker.state", ingestionWorker,
+                                worker -> worker.status().getState().equals(state.name()) ? 1 : 0)
+                        .tag("state", state.name().toLowerCase())
+                        .register(registry);
+            }
+            Gauge.builder("telegram.ingest.worker.failures", ingestionWorker,
+                            worker -> worker.status().getConsecutiveFailures())
+                    .description("Fallos consecutivos de getUpdates (0 tras un ciclo correcto)")
+                    .register(registry);
+        };
+    }
+
+    // Mismos nombres que CaffeineCacheMetrics, a partir de las estadísticas que exponen los componentes
+    private static void bindCache(MeterRegistry registry, String name, Supplier<CacheStats> stats) {
+        FunctionCounter.builder("cache.gets", stats, s -> s.get().hitCount())
+                .tag("cache", name).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", stats, s -> s.get().missCount())
+                .tag("cache", name).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", stats, s -> s.get().evictionCount())
+                .tag("cache", name)
+                .register(registry);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.demo.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limita los mensajes por segundo de los loggers del camino de autenticación
+ * (se configura en logback-spring.xml, solo en el perfil prod). Un cliente con un
+ * token caducado o un barrido de credenciales no inunda el log: pasado el cupo de
+ * la ventana de un segundo los mensajes se descartan antes de formatearse. Los
+ * ERROR pasan siempre.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private List<String> loggerPrefixes = List.of();
+    private int maxPerSecond = 20;
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    LongSupplier nanoClock = System::nanoTime;
+
+    /** Prefijos de logger separados por comas, p. ej. "com.example.demo.security". */
+    public void setLoggers(String loggers) {
+        this.loggerPrefixes = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(prefix -> !prefix.isEmpty())
+                .toList();
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    public long getSuppressed() {
+        return suppressed.get();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format == null es una comprobación isXxxEnabled(): no consume cupo
+        if (!isStarted() || format == null || level.isGreaterOrEqual(Level.ERROR)) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel()) || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.computeIfAbsent(logger.getName(), name -> new Window());
+        if (window.tryAcquire(nanoClock.getAsLong(), maxPerSecond)) {
+            return FilterReply.NEUTRAL;
+        }
+        suppressed.incrementAndGet();
+        return FilterReply.DENY;
+    }
+
+    private boolean matches(String loggerName) {
+        for (String prefix : loggerPrefixes) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Ventana fija de un segundo; el reinicio es aproximado, sin bloqueo. */
+    private static final class Window {
+        private final AtomicLong start = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLong count = new AtomicLong();
+
+        boolean tryAcquire(long now, int max) {
+            long current = start.get();
+            if (current == Long.MIN_VALUE || now - current >= WINDOW_NANOS) {
+                if (start.compareAndSet(current, now)) {
+                    count.set(0);
+                }
+            }
+            return count.incrementAndGet() <= max;
+        }
+    }
+}
@@ -2,10 +2,15 @@ package com.example.demo.config;
 
 import com.example.demo.security.AuthEntryPointJwt;
 import com.example.demo.security.AuthTokenFilter;
-import com.example.demo.security.UserDetailsServiceImpl;
+import com.example.demo.security.BoundedPasswordEncoder;
+import com.example.demo.security.CachedUserDetailsService;
+import com.example.demo.security.PasswordEncoders;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -13,11 +18,11 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -25,11 +30,31 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 public class SecurityConfig {
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private CachedUserDetailsService userDetailsService;
 
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Value("${security.password.encoding-id:bcrypt}")
+    private String passwordEncodingId;
+
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    // 0 = un hilo por núcleo disponible
+    @Value("${security.password.hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${security.password.hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${security.password.hashing.timeout-ms:5000}")
+    private long hashingTimeoutMs;
+
+    // Puerto real del servidor de gestión (management.server.port, en prod); -1 si el actuator
+    // comparte el puerto de la API
+    private volatile int managementPort = -1;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
@@ -40,6 +65,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-hash transparente tras un login correcto si el algoritmo o el coste han cambiado
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -50,7 +77,9 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(PasswordEncoders.createDelegating(passwordEncodingId, bcryptStrength),
+                hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors(),
+                hashingQueueCapacity, hashingTimeoutMs);
     }
 
     @Bean
@@ -62,7 +91,18 @@ public class SecurityConfig {
                         auth
                             .requestMatchers(new AntPathRequestMatcher("/api/auth/**")).permitAll()
                             .requestMatchers(new AntPathRequestMatcher("/api/telegram/messages", "GET")).permitAll()
+                            .requestMatchers(new AntPathRequestMatcher("/api/telegram/messages/stream", "GET")).permitAll()
+                            .requestMatchers(new AntPathRequestMatcher("/api/telegram/messages/search", "GET")).permitAll()
+                            // Telegram no envía JWT: el webhook se autentica con su propio secreto
+                            .requestMatchers(new AntPathRequestMatcher("/api/telegram/webhook/**", "POST")).permitAll()
                             .requestMatchers(new AntPathRequestMatcher("/h2-console/**")).permitAll()
+                            // Sondas del balanceador
+                            .requestMatchers(new AntPathRequestMatcher("/actuator/health/**", "GET")).permitAll()
+                            // Scraping de Prometheus sin JWT solo en el puerto interno de gestión; en el puerto
+                            // de la API las métricas (cachés, pool, resultados de login) son solo para ADMIN
+                            .requestMatchers(onManagementPort(new AntPathRequestMatcher("/actuator/prometheus", "GET")))
+                                .permitAll()
+                            .requestMatchers(new AntPathRequestMatcher("/actuator/**")).hasRole("ADMIN")
                             .anyRequest().authenticated()
                 );
 
@@ -74,4 +114,15 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if ("management".equals(event.getApplicationContext().getServerNamespace())) {
+            managementPort = event.getWebServer().getPort();
+        }
+    }
+
+    private RequestMatcher onManagementPort(RequestMatcher matcher) {
+        return request -> request.getLocalPort() == managementPort && matcher.matches(request);
+    }
 }
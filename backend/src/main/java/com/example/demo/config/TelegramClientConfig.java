@@ -0,0 +1,63 @@
+package com.example.demo.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Cliente HTTP de la Bot API de Telegram: pool de conexiones propio con keep-alive,
+ * timeout de conexión y timeout de respuesta por defecto (las llamadas de long polling
+ * lo amplían por petición).
+ */
+@Configuration
+public class TelegramClientConfig {
+
+    @Value("${telegram.api.base-url:https://api.telegram.org}")
+    private String apiBaseUrl;
+
+    @Value("${telegram.http.max-connections:16}")
+    private int maxConnections;
+
+    @Value("${telegram.http.pending-acquire-timeout-ms:5000}")
+    private long pendingAcquireTimeoutMs;
+
+    @Value("${telegram.http.max-idle-seconds:50}")
+    private long maxIdleSeconds;
+
+    @Value("${telegram.http.connect-timeout-ms:5000}")
+    private int connectTimeoutMs;
+
+    @Value("${telegram.http.response-timeout-seconds:15}")
+    private long responseTimeoutSeconds;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider telegramConnectionProvider() {
+        return ConnectionProvider.builder("telegram")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                // Cerrar antes de que lo haga el otro extremo evita reutilizar conexiones ya muertas
+                .maxIdleTime(Duration.ofSeconds(maxIdleSeconds))
+                .evictInBackground(Duration.ofSeconds(30))
+                .build();
+    }
+
+    @Bean
+    public WebClient telegramWebClient(ConnectionProvider telegramConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(telegramConnectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofSeconds(responseTimeoutSeconds));
+        return WebClient.builder()
+                .baseUrl(apiBaseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
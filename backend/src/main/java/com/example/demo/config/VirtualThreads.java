@@ -0,0 +1,71 @@
+package com.example.demo.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Acceso a los hilos virtuales (Java 21) sin subir el nivel de compilación del proyecto: el build
+ * sigue en Java 17 y el modo virtual solo se puede activar cuando la JVM de ejecución es 21 o superior.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    /**
+     * Factoría de hilos virtuales con nombre {@code prefix + n}.
+     *
+     * @throws IllegalStateException si la JVM no soporta hilos virtuales
+     */
+    public static ThreadFactory threadFactory(String prefix) {
+        requireSupported();
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No se pudo crear la factoría de hilos virtuales", e);
+        }
+    }
+
+    /**
+     * Ejecutor que lanza un hilo virtual nuevo por tarea (sin pool: no hay límite de hilos).
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        ThreadFactory factory = threadFactory(prefix);
+        try {
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) method.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No se pudo crear el ejecutor de hilos virtuales", e);
+        }
+    }
+
+    public static boolean isVirtual(Thread thread) {
+        if (!isSupported()) {
+            return false;
+        }
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @throws IllegalStateException si la JVM no soporta hilos virtuales
+     */
+    public static void requireSupported() {
+        if (!isSupported()) {
+            throw new IllegalStateException("threads.virtual.enabled=true requiere Java 21 o superior (JVM actual: "
+                    + Runtime.version() + ")");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+
+/**
+ * Modo opcional de hilos virtuales ({@code threads.virtual.enabled=true}, requiere Java 21):
+ * las peticiones de Tomcat, el trabajo asíncrono de Spring (SSE, {@code @Async}) y el scheduler
+ * se ejecutan en hilos virtuales, de modo que una consulta lenta o una pausa de la base de datos
+ * ya no agota un pool fijo de hilos de plataforma.
+ * <p>
+ * El límite de concurrencia real pasa a ser el pool de HikariCP: {@code connection-timeout} hace que
+ * las peticiones sobrantes fallen rápido en lugar de acumularse. El hashing de contraseñas y el envío
+ * SSE siguen en sus pools de plataforma acotados (ver {@code BoundedPasswordEncoder} y {@code NewsStreamHub}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    @Value("${threads.virtual.pinned-threshold-ms:20}")
+    private long pinnedThresholdMs;
+
+    @PostConstruct
+    void init() {
+        VirtualThreads.requireSupported();
+        logger.info("Hilos virtuales activos para peticiones HTTP, tareas asíncronas y scheduler");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        // Un hilo virtual por petición en lugar del pool de server.tomcat.threads.max
+        return protocolHandler -> protocolHandler.setExecutor(
+                new SimpleAsyncTaskExecutor(VirtualThreads.threadFactory("http-vt-")));
+    }
+
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new SimpleAsyncTaskExecutor(VirtualThreads.threadFactory("task-vt-"));
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadFactory(VirtualThreads.threadFactory("scheduling-vt-"));
+        return scheduler;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry registry) {
+        return new VirtualThreadPinningMonitor(registry, Duration.ofMillis(pinnedThresholdMs));
+    }
+}
@@ -1,11 +1,28 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.FeedVersion;
+import com.example.demo.dto.IngestionStatus;
+import com.example.demo.dto.TelegramUpdate;
 import com.example.demo.model.TelegramMessage;
+import com.example.demo.service.NewsFeedCache;
+import com.example.demo.service.NewsStreamHub;
+import com.example.demo.service.TelegramIngestionWorker;
 import com.example.demo.service.TelegramService;
+import com.example.demo.service.TelegramWebhookQueue;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -14,22 +31,135 @@ import java.util.Map;
 @RequestMapping("/api/telegram")
 public class TelegramController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Before";
+    public static final String WEBHOOK_SECRET_HEADER = "X-Telegram-Bot-Api-Secret-Token";
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_QUERY_LENGTH = 200;
+
     @Autowired
     private TelegramService telegramService;
 
+    @Autowired
+    private TelegramIngestionWorker ingestionWorker;
+
+    @Autowired
+    private TelegramWebhookQueue webhookQueue;
+
+    @Autowired
+    private NewsStreamHub streamHub;
+
+    @Value("${telegram.feed.max-age-seconds:30}")
+    private long feedMaxAgeSeconds;
+
+    /**
+     * Feed paginado por cursor: {@code before=<messageDate>,<id>} del último mensaje recibido.
+     * Si la página está completa, la cabecera {@code X-Next-Before} trae el cursor siguiente.
+     */
     @GetMapping("/messages")
-    public ResponseEntity<List<TelegramMessage>> getMessages() {
-        List<TelegramMessage> messages = telegramService.getChannelMessages();
-        return ResponseEntity.ok(messages);
+    public ResponseEntity<?> getMessages(@RequestParam(required = false) String before,
+                                         @RequestParam(defaultValue = "20") int limit,
+                                         WebRequest webRequest) {
+        LocalDateTime beforeDate = null;
+        Long beforeId = null;
+        if (before != null && !before.isBlank()) {
+            int separator = before.lastIndexOf(',');
+            try {
+                beforeDate = LocalDateTime.parse(before.substring(0, separator));
+                beforeId = Long.parseLong(before.substring(separator + 1));
+            } catch (RuntimeException e) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Cursor 'before' inválido, formato esperado: <messageDate>,<id>");
+                return ResponseEntity.badRequest().body(error);
+            }
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // Validación condicional antes de cargar nada: si el cliente ya tiene esta versión, 304
+        FeedVersion version = telegramService.getFeedVersion();
+        String etag = version.toETag(pageSize + (beforeDate != null ? "-" + Integer.toHexString(before.hashCode()) : ""));
+        long lastModified = version.getLastModified() != null
+                ? version.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+
+        // La primera página (portada) se sirve ya serializada desde la caché
+        if (beforeDate == null) {
+            NewsFeedCache.CachedPage page = telegramService.getLatestMessagesPage(pageSize);
+            ResponseEntity.BodyBuilder response = cacheableResponse(etag, lastModified)
+                    .contentType(MediaType.APPLICATION_JSON);
+            if (page.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            return response.body(page.body());
+        }
+
+        List<TelegramMessage> messages = telegramService.getChannelMessages(beforeDate, beforeId, pageSize);
+
+        ResponseEntity.BodyBuilder response = cacheableResponse(etag, lastModified);
+        if (messages.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, TelegramService.cursorOf(messages.get(messages.size() - 1)));
+        }
+        return response.body(messages);
     }
 
+    private ResponseEntity.BodyBuilder cacheableResponse(String etag, long lastModified) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(feedMaxAgeSeconds)).cachePublic().mustRevalidate());
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        return response;
+    }
+
+    /**
+     * Búsqueda de texto completo: {@code ?q=} admite varias palabras, "frases" y -exclusiones (PostgreSQL).
+     */
+    @GetMapping("/messages/search")
+    public ResponseEntity<?> searchMessages(@RequestParam(required = false) String q,
+                                            @RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "20") int size) {
+        if (q == null || q.isBlank() || q.length() > MAX_QUERY_LENGTH) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "El parámetro q es obligatorio y no puede superar " + MAX_QUERY_LENGTH + " caracteres");
+            return ResponseEntity.badRequest().body(error);
+        }
+        if (page < 0 || size < 1) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Página o tamaño de página no válidos");
+            return ResponseEntity.badRequest().body(error);
+        }
+        return ResponseEntity.ok(telegramService.searchMessages(q, page, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Server-Sent Events con cada mensaje nuevo (evento {@code message}, id = cursor del mensaje).
+     */
+    @GetMapping(value = "/messages/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamMessages() {
+        SseEmitter emitter = streamHub.subscribe();
+        if (emitter == null) {
+            // Sin cuerpo: el tipo de respuesta es el del stream; EventSource reintenta tras Retry-After
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "10")
+                    .build();
+        }
+        // Evita que nginx u otros proxies acumulen la respuesta
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+    }
+
+    /**
+     * Lanza una sincronización en segundo plano y responde al momento con el estado de la ingesta.
+     */
     @PostMapping("/fetch")
     public ResponseEntity<?> fetchMessages() {
         try {
-            telegramService.fetchAndSaveMessages();
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "Mensajes actualizados correctamente");
-            return ResponseEntity.ok(response);
+            IngestionStatus status = ingestionWorker.requestSync();
+            return ResponseEntity.accepted().body(status);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Error al actualizar mensajes: " + e.getMessage());
@@ -37,6 +167,41 @@ public class TelegramController {
         }
     }
 
+    @GetMapping("/fetch/status")
+    public ResponseEntity<IngestionStatus> getFetchStatus() {
+        return ResponseEntity.ok(ingestionWorker.status());
+    }
+
+    /**
+     * Webhook de Telegram (setWebhook con {@code secret_token}). Valida el secreto de la ruta y de la
+     * cabecera, encola el update y responde 200 sin esperar a la base de datos.
+     */
+    @PostMapping("/webhook/{secret}")
+    public ResponseEntity<?> receiveWebhook(@PathVariable String secret,
+                                            @RequestHeader(value = WEBHOOK_SECRET_HEADER, required = false) String secretHeader,
+                                            @RequestBody TelegramUpdate update) {
+        if (!webhookQueue.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!webhookQueue.isValidSecret(secret) || !webhookQueue.isValidSecret(secretHeader)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Secreto del webhook no válido");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+        if (update.updateId() == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Update sin update_id");
+            return ResponseEntity.badRequest().body(error);
+        }
+        if (!webhookQueue.offer(update)) {
+            // Cola llena: Telegram reintenta las entregas que no reciben 2xx
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+        return ResponseEntity.ok().build();
+    }
+
     @PostMapping("/manual")
     public ResponseEntity<?> createManualMessage(@RequestBody Map<String, String> payload) {
         try {
@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versión barata del feed de un canal: número de mensajes, id máximo y fecha del último alta.
+ * Cualquier alta o baja cambia el par (count, maxId).
+ */
+@Data
+@AllArgsConstructor
+public class FeedVersion {
+    private Long count;
+    private Long maxId;
+    private LocalDateTime lastModified;
+
+    public String toETag(String variant) {
+        return "\"" + count + "-" + (maxId != null ? maxId : 0) + "-" + variant + "\"";
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class IngestResult {
+    private int inserted;
+    private int skipped;
+    private List<Integer> insertedMessageIds;
+
+    public static IngestResult empty() {
+        return new IngestResult(0, 0, List.of());
+    }
+}
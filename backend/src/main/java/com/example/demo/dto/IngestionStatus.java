@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class IngestionStatus {
+    private String state;
+    private boolean longPolling;
+    // true si la petición se ha unido a una sincronización que ya estaba en curso
+    private boolean coalesced;
+    private int consecutiveFailures;
+    private LocalDateTime lastSuccessAt;
+    private String lastError;
+    private long totalInserted;
+}
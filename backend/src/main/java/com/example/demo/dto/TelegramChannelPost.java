@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Mensaje publicado en un canal ({@code channel_post}); {@code date} es un epoch en segundos.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TelegramChannelPost(
+        @JsonProperty("message_id") Long messageId,
+        @JsonProperty("date") Long date,
+        @JsonProperty("text") String text) {
+}
@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Update de la Bot API con solo los campos que se usan. Los ids son {@code Long}: Telegram los
+ * documenta como enteros de hasta 52 bits.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TelegramUpdate(
+        @JsonProperty("update_id") Long updateId,
+        @JsonProperty("channel_post") TelegramChannelPost channelPost) {
+}
@@ -8,7 +8,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "telegram_messages")
+@Table(name = "telegram_messages", indexes = {
+        // Paginación keyset del feed: WHERE channel_username = ? ORDER BY message_date DESC, id DESC
+        @Index(name = "idx_telegram_messages_channel_date_id", columnList = "channel_username, message_date DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,36 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Último {@code update_id} procesado de getUpdates, por bot. La siguiente sincronización
+ * pide {@code offset = lastUpdateId + 1}, lo que además confirma a Telegram los anteriores.
+ */
+@Entity
+@Table(name = "telegram_sync_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelegramSyncState {
+
+    @Id
+    @Column(name = "bot_id")
+    private String botId;
+
+    @Column(name = "last_update_id")
+    private Long lastUpdateId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
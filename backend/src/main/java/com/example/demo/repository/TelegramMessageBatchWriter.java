@@ -0,0 +1,91 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.IngestResult;
+import com.example.demo.model.TelegramMessage;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserción por lotes JDBC de mensajes de Telegram, ignorando los {@code message_id} ya existentes.
+ * Sustituye el patrón {@code existsByMessageId} + {@code save} por mensaje: un lote completo
+ * se escribe en una sola transacción con un único round trip por cada {@code batch-size} filas.
+ */
+@Repository
+public class TelegramMessageBatchWriter {
+
+    // PostgreSQL: idempotente incluso con ingestas concurrentes gracias al índice único
+    private static final String POSTGRES_INSERT =
+            "INSERT INTO telegram_messages (message_id, text, channel_username, message_date, created_at) " +
+            "VALUES (?, ?, ?, ?, ?) ON CONFLICT (message_id) DO NOTHING";
+
+    // Resto de bases de datos (H2 en tests)
+    private static final String PORTABLE_INSERT =
+            "INSERT INTO telegram_messages (message_id, text, channel_username, message_date, created_at) " +
+            "SELECT ?, ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM telegram_messages WHERE message_id = ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${telegram.ingest.batch-size:500}")
+    private int batchSize;
+
+    private boolean postgres;
+
+    @PostConstruct
+    void init() throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                DatabaseMetaData::getDatabaseProductName);
+        this.postgres = "PostgreSQL".equalsIgnoreCase(product);
+    }
+
+    @Transactional
+    public IngestResult insertIgnoringDuplicates(List<TelegramMessage> messages) {
+        // Deduplicación en memoria: el mismo post puede llegar repetido dentro de un lote
+        Map<Integer, TelegramMessage> unique = new LinkedHashMap<>();
+        for (TelegramMessage message : messages) {
+            unique.putIfAbsent(message.getMessageId(), message);
+        }
+        List<TelegramMessage> rows = new ArrayList<>(unique.values());
+        LocalDateTime now = LocalDateTime.now();
+
+        int[][] counts = jdbcTemplate.batchUpdate(postgres ? POSTGRES_INSERT : PORTABLE_INSERT, rows, batchSize,
+                (ps, message) -> {
+                    ps.setInt(1, message.getMessageId());
+                    ps.setString(2, message.getText());
+                    ps.setString(3, message.getChannelUsername());
+                    ps.setTimestamp(4, message.getMessageDate() != null ? Timestamp.valueOf(message.getMessageDate()) : null);
+                    ps.setTimestamp(5, Timestamp.valueOf(now));
+                    if (!postgres) {
+                        ps.setInt(6, message.getMessageId());
+                    }
+                });
+
+        List<Integer> insertedIds = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // SUCCESS_NO_INFO solo aparece si el driver reescribe el lote; se cuenta como insertado
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    insertedIds.add(rows.get(index).getMessageId());
+                }
+                index++;
+            }
+        }
+        return new IngestResult(insertedIds.size(), messages.size() - insertedIds.size(), insertedIds);
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.FeedVersion;
 import com.example.demo.model.TelegramMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,7 +18,25 @@ public interface TelegramMessageRepository extends JpaRepository<TelegramMessage
     
     Optional<TelegramMessage> findByMessageId(Integer messageId);
     
-    List<TelegramMessage> findByChannelUsernameOrderByMessageDateDesc(String channelUsername);
-    
     boolean existsByMessageId(Integer messageId);
+
+    List<TelegramMessage> findByMessageIdInOrderByMessageDateAscIdAsc(Collection<Integer> messageIds);
+
+    @Query("SELECT new com.example.demo.dto.FeedVersion(COUNT(m), MAX(m.id), MAX(m.createdAt)) " +
+           "FROM TelegramMessage m WHERE m.channelUsername = :channel")
+    FeedVersion findFeedVersion(@Param("channel") String channelUsername);
+
+    @Query("SELECT m FROM TelegramMessage m WHERE m.channelUsername = :channel " +
+           "ORDER BY m.messageDate DESC, m.id DESC")
+    List<TelegramMessage> findLatest(@Param("channel") String channelUsername, Pageable pageable);
+
+    // Keyset: mensajes estrictamente anteriores a (beforeDate, beforeId) en el orden del feed
+    @Query("SELECT m FROM TelegramMessage m WHERE m.channelUsername = :channel " +
+           "AND m.messageDate <= :beforeDate " +
+           "AND (m.messageDate < :beforeDate OR m.id < :beforeId) " +
+           "ORDER BY m.messageDate DESC, m.id DESC")
+    List<TelegramMessage> findBefore(@Param("channel") String channelUsername,
+                                     @Param("beforeDate") LocalDateTime beforeDate,
+                                     @Param("beforeId") Long beforeId,
+                                     Pageable pageable);
 }
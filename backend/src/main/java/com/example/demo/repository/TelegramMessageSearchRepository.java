@@ -0,0 +1,157 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.TelegramMessage;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Búsqueda de texto completo sobre {@code telegram_messages.text}.
+ * En PostgreSQL usa una columna generada {@code tsvector} con índice GIN y ordena por {@code ts_rank};
+ * en el resto de bases de datos (H2 en tests) cae a {@code LIKE} por cada término, sin ranking.
+ * Al arrancar comprueba que la columna se generó con la misma configuración que usan las consultas
+ * ({@code telegram.search.ts-config}); si no, falla en lugar de degradar la búsqueda en silencio.
+ */
+@Repository
+// La tabla la crea Hibernate: la columna y el índice se añaden después
+@DependsOn("entityManagerFactory")
+public class TelegramMessageSearchRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelegramMessageSearchRepository.class);
+
+    // Expresión de la columna generada tal como la devuelve pg_get_expr: to_tsvector('spanish'::regconfig, ...)
+    private static final Pattern INDEXED_CONFIG = Pattern.compile("to_tsvector\\('([a-z_]+)'::regconfig");
+
+    private static final String COLUMNS = "id, message_id, text, channel_username, message_date, created_at";
+
+    private static final RowMapper<TelegramMessage> ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp messageDate = rs.getTimestamp("message_date");
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new TelegramMessage(
+                rs.getLong("id"),
+                rs.getInt("message_id"),
+                rs.getString("text"),
+                rs.getString("channel_username"),
+                messageDate != null ? messageDate.toLocalDateTime() : null,
+                createdAt != null ? createdAt.toLocalDateTime() : null);
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Configuración de text search de PostgreSQL (spanish viene de serie; catalan requiere instalar un diccionario)
+    @Value("${telegram.search.ts-config:spanish}")
+    private String tsConfig;
+
+    // false cuando el esquema lo gestionan scripts de migración
+    @Value("${telegram.search.manage-schema:true}")
+    private boolean manageSchema;
+
+    private boolean postgres;
+
+    @PostConstruct
+    void init() throws MetaDataAccessException {
+        if (!tsConfig.matches("[a-z_]+")) {
+            throw new IllegalArgumentException("telegram.search.ts-config no válido: " + tsConfig);
+        }
+        String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                DatabaseMetaData::getDatabaseProductName);
+        this.postgres = "PostgreSQL".equalsIgnoreCase(product);
+        if (postgres && manageSchema) {
+            // Columna generada: se mantiene sola en cada INSERT/UPDATE, sin triggers ni cambios en la entidad
+            jdbcTemplate.execute("ALTER TABLE telegram_messages ADD COLUMN IF NOT EXISTS text_search tsvector " +
+                    "GENERATED ALWAYS AS (to_tsvector('" + tsConfig + "', coalesce(text, ''))) STORED");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_telegram_messages_text_search " +
+                    "ON telegram_messages USING GIN (text_search)");
+            logger.info("Índice de búsqueda de texto completo preparado ({})", tsConfig);
+        }
+        if (postgres) {
+            verifyIndexedConfig();
+        }
+    }
+
+    // ADD COLUMN IF NOT EXISTS no rehace una columna existente, y con manage-schema=false la crea
+    // schema-postgresql.sql: en ambos casos la configuración puede no ser la de las consultas
+    void verifyIndexedConfig() {
+        List<String> expressions = jdbcTemplate.queryForList(
+                "SELECT pg_get_expr(d.adbin, d.adrelid) FROM pg_attrdef d " +
+                "JOIN pg_attribute a ON a.attrelid = d.adrelid AND a.attnum = d.adnum " +
+                "WHERE d.adrelid = 'telegram_messages'::regclass AND a.attname = 'text_search'", String.class);
+        if (expressions.isEmpty()) {
+            throw new IllegalStateException("Falta la columna telegram_messages.text_search: crearla con " +
+                    "db/schema-postgresql.sql o arrancar con telegram.search.manage-schema=true");
+        }
+        Matcher matcher = INDEXED_CONFIG.matcher(expressions.get(0));
+        String indexedConfig = matcher.find() ? matcher.group(1) : expressions.get(0);
+        if (!tsConfig.equals(indexedConfig)) {
+            throw new IllegalStateException("telegram.search.ts-config=" + tsConfig + " no coincide con la " +
+                    "configuración de la columna text_search (" + indexedConfig + "): regenerar la columna y su " +
+                    "índice GIN con la nueva configuración o volver a " + indexedConfig);
+        }
+    }
+
+    public Page<TelegramMessage> search(String channelUsername, String query, Pageable pageable) {
+        return postgres
+                ? searchPostgres(channelUsername, query, pageable)
+                : searchPortable(channelUsername, query, pageable);
+    }
+
+    private Page<TelegramMessage> searchPostgres(String channelUsername, String query, Pageable pageable) {
+        // websearch_to_tsquery acepta la sintaxis de un buscador ("frase exacta", -excluir, or) sin errores de sintaxis
+        String tsQuery = "websearch_to_tsquery('" + tsConfig + "', ?)";
+        List<TelegramMessage> content = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM telegram_messages " +
+                "WHERE channel_username = ? AND text_search @@ " + tsQuery + " " +
+                "ORDER BY ts_rank(text_search, " + tsQuery + ") DESC, message_date DESC, id DESC " +
+                "LIMIT ? OFFSET ?",
+                ROW_MAPPER, channelUsername, query, query, pageable.getPageSize(), pageable.getOffset());
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM telegram_messages WHERE channel_username = ? AND text_search @@ " + tsQuery,
+                Long.class, channelUsername, query);
+        return new PageImpl<>(content, pageable, total != null ? total : 0);
+    }
+
+    private Page<TelegramMessage> searchPortable(String channelUsername, String query, Pageable pageable) {
+        List<String> terms = Arrays.stream(query.toLowerCase(Locale.ROOT).split("\\s+"))
+                .filter(term -> !term.isBlank())
+                .toList();
+        StringBuilder where = new StringBuilder("WHERE channel_username = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(channelUsername);
+        for (String term : terms) {
+            where.append(" AND LOWER(text) LIKE ? ESCAPE '\\'");
+            args.add("%" + term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+        }
+
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM telegram_messages " + where,
+                Long.class, args.toArray());
+        List<Object> pageArgs = new ArrayList<>(args);
+        pageArgs.add(pageable.getPageSize());
+        pageArgs.add(pageable.getOffset());
+        List<TelegramMessage> content = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM telegram_messages " + where +
+                " ORDER BY message_date DESC, id DESC LIMIT ? OFFSET ?",
+                ROW_MAPPER, pageArgs.toArray());
+        return new PageImpl<>(content, pageable, total != null ? total : 0);
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.UserResponseDTO;
 import com.example.demo.model.Role;
 import com.example.demo.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -19,4 +23,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     boolean existsByRole(Role role);
+
+    // Proyección directa al DTO: nunca selecciona la columna password
+    @Query(value = "SELECT new com.example.demo.dto.UserResponseDTO(u.id, u.name, u.email, u.phone, u.username, u.createdAt, u.role) FROM User u",
+            countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserResponseDTO> findAllAsResponseDTO(Pageable pageable);
 }
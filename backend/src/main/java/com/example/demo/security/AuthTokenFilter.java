@@ -1,5 +1,9 @@
 package com.example.demo.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,14 +11,19 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class AuthTokenFilter extends OncePerRequestFilter {
 
@@ -24,77 +33,135 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private CachedUserDetailsService userDetailsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.stateless:false}")
+    private boolean statelessAuth;
+
+    // Registrados una vez: en cada petición solo se actualizan
+    private Timer authenticatedTimer;
+    private Timer invalidTokenTimer;
+    private Timer errorTimer;
+    private Counter authoritiesFromClaims;
+    private Counter userDetailsLookups;
+
+    @Override
+    protected void initFilterBean() {
+        authenticatedTimer = tokenTimer("authenticated");
+        invalidTokenTimer = tokenTimer("invalid");
+        errorTimer = tokenTimer("error");
+        // "claims" = consulta a la BD evitada; "service" pasa por CachedUserDetailsService
+        authoritiesFromClaims = Counter.builder("auth.jwt.userdetails")
+                .description("Origen de los UserDetails de las peticiones con token válido")
+                .tag("source", "claims")
+                .register(meterRegistry);
+        userDetailsLookups = Counter.builder("auth.jwt.userdetails")
+                .description("Origen de los UserDetails de las peticiones con token válido")
+                .tag("source", "service")
+                .register(meterRegistry);
+    }
+
+    private Timer tokenTimer(String outcome) {
+        return Timer.builder("auth.jwt.filter")
+                .description("Validación del token y construcción de la autenticación")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        
-        logger.debug("========================================");
-        logger.debug("🔍 JWT FILTER - Procesando petición");
-        logger.debug("Method: {} {}", request.getMethod(), request.getRequestURI());
-        
+
+        // Se ejecuta en cada petición: ningún mensaje construye cadenas si su nivel está desactivado
+        boolean debug = logger.isDebugEnabled();
+        if (debug) {
+            logger.debug("🔍 JWT FILTER - {} {}", request.getMethod(), request.getRequestURI());
+        }
+
+        long start = 0;
+        Timer timer = null;
         try {
             String jwt = parseJwt(request);
-            
+
             if (jwt == null) {
-                logger.warn("⚠️ No se encontró token JWT en el header Authorization");
-                logger.warn("Headers disponibles:");
-                java.util.Enumeration<String> headerNames = request.getHeaderNames();
-                while (headerNames.hasMoreElements()) {
-                    String headerName = headerNames.nextElement();
-                    logger.warn("  - {}: {}", headerName, request.getHeader(headerName));
+                // Normal en los endpoints públicos: no es un aviso
+                if (debug) {
+                    logger.debug("Petición sin token JWT en el header Authorization");
+                }
+                if (logger.isTraceEnabled()) {
+                    logHeaders(request);
                 }
             } else {
-                logger.debug("✅ Token JWT encontrado (primeros 20 chars): {}...", jwt.substring(0, Math.min(20, jwt.length())));
-                
-                if (jwtUtils.validateJwtToken(jwt)) {
-                    logger.debug("✅ Token JWT válido");
-                    
-                    String username = jwtUtils.getUsernameFromJwtToken(jwt);
-                    logger.debug("👤 Username extraído del token: {}", username);
-
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    logger.debug("✅ UserDetails cargado para: {}", username);
-                    
+                start = System.nanoTime();
+                timer = errorTimer;
+                Claims claims = jwtUtils.parseAndValidate(jwt);
+
+                if (claims != null) {
+                    String username = claims.getSubject();
+                    UserDetails userDetails = resolveUserDetails(username, claims);
+
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
-                    logger.debug("✅ Autenticación establecida en SecurityContext");
+                    timer = authenticatedTimer;
+                    if (debug) {
+                        logger.debug("✅ Autenticación establecida para: {}", username);
+                    }
                 } else {
-                    logger.warn("❌ Token JWT inválido o expirado");
+                    timer = invalidTokenTimer;
+                    logger.warn("❌ Token JWT inválido o expirado en {} {}", request.getMethod(), request.getRequestURI());
                 }
             }
         } catch (Exception e) {
-            logger.error("========================================");
-            logger.error("❌ ERROR en JWT Filter");
-            logger.error("Mensaje: {}", e.getMessage());
-            logger.error("Tipo: {}", e.getClass().getName());
-            logger.error("Stack trace:", e);
-            logger.error("========================================");
+            logger.error("❌ ERROR en JWT Filter ({}): {}", e.getClass().getName(), e.getMessage(), e);
+        }
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
 
-        logger.debug("🔄 Continuando con la cadena de filtros...");
-        logger.debug("========================================");
         filterChain.doFilter(request, response);
     }
 
+    private void logHeaders(HttpServletRequest request) {
+        java.util.Enumeration<String> headerNames = request.getHeaderNames();
+        while (headerNames.hasMoreElements()) {
+            String headerName = headerNames.nextElement();
+            // Cookies y Authorization pueden llevar credenciales
+            boolean secret = "cookie".equalsIgnoreCase(headerName) || "authorization".equalsIgnoreCase(headerName);
+            String value = secret ? "<omitida>" : request.getHeader(headerName);
+            logger.trace("  - {}: {}", headerName, value);
+        }
+    }
+
+    private UserDetails resolveUserDetails(String username, Claims claims) {
+        String role = claims.get(JwtUtils.CLAIM_ROLE, String.class);
+
+        // Modo stateless: las authorities salen del claim firmado, sin consulta a la BD.
+        // Los tokens antiguos sin claim de rol caen al lookup en la base de datos.
+        if (statelessAuth && role != null) {
+            authoritiesFromClaims.increment();
+            return new User(username, "", List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+        }
+
+        userDetailsLookups.increment();
+        return userDetailsService.loadUserByUsername(username);
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
-        
-        logger.debug("📦 Header Authorization: {}", headerAuth != null ? 
-                    (headerAuth.length() > 30 ? headerAuth.substring(0, 30) + "..." : headerAuth) : "null");
 
         if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
-            String token = headerAuth.substring(7);
-            logger.debug("✂️ Token extraído (sin 'Bearer '): {}...", 
-                        token.substring(0, Math.min(20, token.length())));
-            return token;
+            return headerAuth.substring(7);
         }
 
-        logger.debug("⚠️ Header Authorization no tiene formato 'Bearer <token>'");
+        if (headerAuth != null && logger.isDebugEnabled()) {
+            logger.debug("⚠️ Header Authorization no tiene formato 'Bearer <token>'");
+        }
         return null;
     }
 }
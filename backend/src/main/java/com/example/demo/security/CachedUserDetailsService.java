@@ -0,0 +1,85 @@
+package com.example.demo.security;
+
+import com.example.demo.config.CacheLoading;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Decorador de {@link UserDetailsServiceImpl} con caché acotada (W-TinyLFU) y TTL.
+ * Las mutaciones de usuario deben llamar a {@link #evict(String)} para que los cambios
+ * de rol o las bajas se apliquen de inmediato.
+ */
+@Service
+public class CachedUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachedUserDetailsService.class);
+
+    @Autowired
+    private UserDetailsServiceImpl delegate;
+
+    @Value("${security.user-cache.max-size:1000}")
+    private long maxSize;
+
+    @Value("${security.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    // Asíncrona solo para cargar fuera del lock de Caffeine (ver CacheLoading)
+    private AsyncCache<String, UserDetails> cache;
+
+    @PostConstruct
+    void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+        logger.info("Caché de UserDetails inicializada (max-size={}, ttl={}s)", maxSize, ttlSeconds);
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails cached = CacheLoading.get(cache, username, delegate::loadUserByUsername);
+        // Se devuelve una copia: ProviderManager borra las credenciales del principal tras
+        // autenticar y eso no debe afectar a la entrada compartida de la caché.
+        return User.withUserDetails(cached).build();
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserDetails updated = delegate.updatePassword(user, newPassword);
+        evict(user.getUsername());
+        return updated;
+    }
+
+    public void evict(String username) {
+        if (username != null) {
+            cache.synchronous().invalidate(username);
+        }
+    }
+
+    public void evictAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+}
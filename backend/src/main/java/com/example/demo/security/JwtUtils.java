@@ -1,7 +1,10 @@
 package com.example.demo.security;
 
+import com.example.demo.model.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,51 +19,102 @@ public class JwtUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_USER_ID = "uid";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // La clave y el parser son inmutables y thread-safe: se construyen una sola vez
+    private SecretKey signingKey;
+
+    private JwtParser jwtParser;
+
+    @Value("${jwt.token-cache.max-size:10000}")
+    private long tokenCacheMaxSize;
+
+    private ValidatedTokenCache tokenCache;
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.tokenCache = tokenCacheMaxSize > 0 ? new ValidatedTokenCache(tokenCacheMaxSize) : null;
     }
 
     public String generateJwtToken(String username) {
-        return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
-                .compact();
+        return generateJwtToken(username, null, null);
     }
 
-    public String getUsernameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    /**
+     * Genera un token con el id y el rol del usuario como claims firmados, de modo que
+     * el filtro pueda construir la autenticación sin consultar la base de datos.
+     */
+    public String generateJwtToken(String username, Long userId, Role role) {
+        Date now = new Date();
+        JwtBuilder builder = Jwts.builder()
+                .setSubject(username);
+        if (userId != null) {
+            builder.claim(CLAIM_USER_ID, userId);
+        }
+        if (role != null) {
+            builder.claim(CLAIM_ROLE, role.name());
+        }
+        return builder
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtExpirationMs))
+                .signWith(signingKey, SignatureAlgorithm.HS512)
+                .compact();
     }
 
-    public boolean validateJwtToken(String authToken) {
+    /**
+     * Verifica la firma y la expiración del token una única vez y devuelve sus claims,
+     * o {@code null} si el token no es válido. Los tokens ya verificados se sirven desde
+     * la caché hasta su expiración sin repetir la verificación HMAC.
+     */
+    public Claims parseAndValidate(String token) {
+        if (tokenCache != null && token != null) {
+            Claims cached = tokenCache.get(token);
+            if (cached != null) {
+                return cached;
+            }
+        }
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            if (tokenCache != null) {
+                tokenCache.put(token, claims);
+            }
+            return claims;
         } catch (MalformedJwtException e) {
-            logger.error("Token JWT inválido: {}", e.getMessage());
+            logger.warn("Token JWT inválido: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
-            logger.error("Token JWT expirado: {}", e.getMessage());
+            logger.warn("Token JWT expirado: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
-            logger.error("Token JWT no soportado: {}", e.getMessage());
+            logger.warn("Token JWT no soportado: {}", e.getMessage());
+        } catch (SecurityException e) {
+            logger.warn("Firma JWT inválida: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string está vacío: {}", e.getMessage());
+            logger.warn("JWT claims string está vacío: {}", e.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    public String getUsernameFromJwtToken(String token) {
+        return jwtParser.parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        return parseAndValidate(authToken) != null;
+    }
+
+    public ValidatedTokenCache getTokenCache() {
+        return tokenCache;
     }
 }
@@ -0,0 +1,12 @@
+package com.example.demo.security;
+
+/**
+ * El pool de hashing de contraseñas está saturado. Los controladores la traducen a 503
+ * para que una avalancha de logins no bloquee el resto de endpoints.
+ */
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -6,11 +6,16 @@ import com.example.demo.dto.SignupRequest;
 import com.example.demo.model.Role;
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.CachedUserDetailsService;
 import com.example.demo.security.JwtUtils;
+import com.example.demo.security.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -34,99 +39,85 @@ public class AuthService {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private CachedUserDetailsService userDetailsCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     public JwtResponse authenticateUser(LoginRequest loginRequest) {
-        logger.info("=== INICIO LOGIN ===");
-        logger.info("Intento de login para usuario: {}", loginRequest.getUsername());
-        
+        logger.debug("Intento de login para usuario: {}", loginRequest.getUsername());
+
+        // Incluye la verificación del hash (BCrypt), que domina el tiempo del login
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
-            String jwt = jwtUtils.generateJwtToken(authentication.getName());
-            
-            logger.info("Autenticación exitosa para: {}", loginRequest.getUsername());
 
             User user = userRepository.findByUsername(loginRequest.getUsername())
                     .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
 
-            logger.info("Usuario encontrado - ID: {}, Username: {}, Email: {}", 
-                       user.getId(), user.getUsername(), user.getEmail());
-            logger.info("=== FIN LOGIN EXITOSO ===");
+            String jwt = jwtUtils.generateJwtToken(authentication.getName(), user.getId(), user.getRole());
+
+            logger.debug("Token emitido para usuario ID: {}", user.getId());
+            outcome = "success";
 
             return new JwtResponse(jwt, user.getId(), user.getUsername(), user.getEmail(), user.getName(), user.getRole());
+        } catch (BadCredentialsException e) {
+            outcome = "bad_credentials";
+            throw e;
+        } catch (PasswordHashingOverloadedException e) {
+            outcome = "overloaded";
+            throw e;
         } catch (Exception e) {
-            logger.error("=== ERROR EN LOGIN ===");
-            logger.error("Usuario: {}", loginRequest.getUsername());
-            logger.error("Tipo de error: {}", e.getClass().getName());
-            logger.error("Mensaje: {}", e.getMessage());
-            logger.error("Stack trace completo:", e);
+            // El controlador registra el fallo; aquí solo el detalle para depuración
+            logger.debug("Login fallido para {}: {}", loginRequest.getUsername(), e.getMessage());
             throw e;
+        } finally {
+            sample.stop(Timer.builder("auth.login")
+                    .description("Duración de POST /api/auth/login en el servicio, por resultado")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
         }
     }
 
     public User registerUser(SignupRequest signUpRequest) {
-        logger.info("=== INICIO REGISTRO ===");
-        logger.info("Datos recibidos:");
-        logger.info("  - Nombre: {}", signUpRequest.getName());
-        logger.info("  - Username: {}", signUpRequest.getUsername());
-        logger.info("  - Email: {}", signUpRequest.getEmail());
-        logger.info("  - Teléfono: {}", signUpRequest.getPhone());
-        logger.info("  - Password length: {}", signUpRequest.getPassword() != null ? signUpRequest.getPassword().length() : 0);
+        logger.debug("Registro solicitado - username: {}, email: {}",
+                signUpRequest.getUsername(), signUpRequest.getEmail());
 
         try {
             // Validación de username
-            logger.debug("Verificando si el username '{}' ya existe...", signUpRequest.getUsername());
             if (userRepository.existsByUsername(signUpRequest.getUsername())) {
                 logger.warn("USERNAME YA EXISTE: {}", signUpRequest.getUsername());
                 throw new RuntimeException("Error: El username ya está en uso");
             }
-            logger.debug("Username disponible: {}", signUpRequest.getUsername());
 
             // Validación de email
-            logger.debug("Verificando si el email '{}' ya existe...", signUpRequest.getEmail());
             if (userRepository.existsByEmail(signUpRequest.getEmail())) {
                 logger.warn("EMAIL YA EXISTE: {}", signUpRequest.getEmail());
                 throw new RuntimeException("Error: El email ya está en uso");
             }
-            logger.debug("Email disponible: {}", signUpRequest.getEmail());
 
             // Creación del usuario
-            logger.debug("Creando nuevo usuario...");
             User user = new User();
             user.setName(signUpRequest.getName());
             user.setUsername(signUpRequest.getUsername());
             user.setEmail(signUpRequest.getEmail());
             user.setPhone(signUpRequest.getPhone());
-            
-            logger.debug("Encriptando contraseña...");
-            String encodedPassword = encoder.encode(signUpRequest.getPassword());
-            logger.debug("Contraseña encriptada (primeros 20 chars): {}...", 
-                        encodedPassword.substring(0, Math.min(20, encodedPassword.length())));
-            user.setPassword(encodedPassword);
+            user.setPassword(encoder.encode(signUpRequest.getPassword()));
             user.setRole(Role.USER);
 
-            logger.debug("Guardando usuario en la base de datos...");
             User savedUser = userRepository.save(user);
-            
-            logger.info("=== USUARIO REGISTRADO EXITOSAMENTE ===");
-            logger.info("ID generado: {}", savedUser.getId());
-            logger.info("Username: {}", savedUser.getUsername());
-            logger.info("Email: {}", savedUser.getEmail());
-            logger.info("Fecha creación: {}", savedUser.getCreatedAt());
-            logger.info("=== FIN REGISTRO EXITOSO ===");
-            
+            userDetailsCache.evict(savedUser.getUsername());
+            logger.debug("Usuario guardado con ID: {}", savedUser.getId());
+
             return savedUser;
-            
+
         } catch (Exception e) {
-            logger.error("=== ERROR EN REGISTRO ===");
-            logger.error("Datos del intento:");
-            logger.error("  - Username: {}", signUpRequest.getUsername());
-            logger.error("  - Email: {}", signUpRequest.getEmail());
-            logger.error("Tipo de error: {}", e.getClass().getName());
-            logger.error("Mensaje: {}", e.getMessage());
-            logger.error("Stack trace completo:", e);
-            logger.error("=== FIN ERROR REGISTRO ===");
+            logger.debug("Registro fallido para {}: {}", signUpRequest.getUsername(), e.getMessage());
             throw e;
         }
     }
@@ -0,0 +1,115 @@
+package com.example.demo.service;
+
+import com.example.demo.config.CacheLoading;
+import com.example.demo.dto.FeedVersion;
+import com.example.demo.model.TelegramMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caché read-through de la primera página del feed de noticias, ya serializada a JSON,
+ * para que las visitas anónimas a la portada no consulten la base de datos ni pasen por Jackson.
+ * Se invalida cada vez que se persiste un mensaje nuevo.
+ */
+@Component
+public class NewsFeedCache {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${telegram.feed-cache.max-size:32}")
+    private long maxSize;
+
+    @Value("${telegram.feed-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    // Asíncronas solo para cargar fuera del lock de Caffeine (ver CacheLoading); la lectura es síncrona
+    private AsyncCache<Key, CachedPage> cache;
+
+    private AsyncCache<String, VersionEntry> versions;
+
+    // Cada invalidación incrementa la versión: una carga iniciada antes de la escritura
+    // queda marcada con la versión anterior y nunca se sirve.
+    private final AtomicLong version = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .buildAsync();
+    }
+
+    public CachedPage getLatest(String channelUsername, int limit, Supplier<List<TelegramMessage>> loader) {
+        Key key = new Key(channelUsername, limit);
+        CachedPage page = CacheLoading.get(cache, key, k -> load(limit, loader));
+        if (page.version() != version.get()) {
+            cache.synchronous().asMap().remove(key, page);
+            page = CacheLoading.get(cache, key, k -> load(limit, loader));
+        }
+        return page;
+    }
+
+    /**
+     * Versión del feed del canal (para ETag / Last-Modified), cacheada hasta la siguiente escritura.
+     */
+    public FeedVersion getVersion(String channelUsername, Supplier<FeedVersion> loader) {
+        Function<String, VersionEntry> load = k -> new VersionEntry(loader.get(), version.get());
+        VersionEntry entry = CacheLoading.get(versions, channelUsername, load);
+        if (entry.stamp() != version.get()) {
+            versions.synchronous().asMap().remove(channelUsername, entry);
+            entry = CacheLoading.get(versions, channelUsername, load);
+        }
+        return entry.feedVersion();
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        cache.synchronous().invalidateAll();
+        versions.synchronous().invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    private CachedPage load(int limit, Supplier<List<TelegramMessage>> loader) {
+        long loadVersion = version.get();
+        List<TelegramMessage> messages = loader.get();
+        String nextCursor = messages.size() == limit
+                ? TelegramService.cursorOf(messages.get(messages.size() - 1))
+                : null;
+        try {
+            return new CachedPage(objectMapper.writeValueAsBytes(messages), nextCursor, loadVersion);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el feed de noticias", e);
+        }
+    }
+
+    private record Key(String channelUsername, int limit) {
+    }
+
+    private record VersionEntry(FeedVersion feedVersion, long stamp) {
+    }
+
+    public record CachedPage(byte[] body, String nextCursor, long version) {
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.demo.service;
+
+import com.example.demo.model.TelegramMessage;
+import com.example.demo.repository.TelegramMessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria sobre {@code TelegramMessage.text}, alternativa a la búsqueda de
+ * PostgreSQL para despliegues sobre H2. Cada término apunta a una lista ordenada de {@code int}
+ * (id del mensaje) en un array primitivo, 4 bytes por aparición; las consultas de varios términos
+ * intersecan las listas empezando por la más corta.
+ * Se construye al arrancar desde {@link TelegramMessageRepository} y se actualiza con cada mensaje guardado.
+ */
+@Component
+public class NewsSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewsSearchIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int BUILD_PAGE_SIZE = 1000;
+
+    @Autowired
+    private TelegramMessageRepository messageRepository;
+
+    @Value("${telegram.search.in-memory-index:false}")
+    private boolean enabled;
+
+    @Value("${telegram.channel.username}")
+    private String channelUsername;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    public record Hits(int total, int[] ids) {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Listo para responder: hasta entonces las búsquedas van a la base de datos.
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        int count = 0;
+        Page<TelegramMessage> page;
+        int pageNumber = 0;
+        do {
+            page = messageRepository.findAll(PageRequest.of(pageNumber++, BUILD_PAGE_SIZE, Sort.by("id")));
+            for (TelegramMessage message : page) {
+                if (channelUsername.equals(message.getChannelUsername())) {
+                    add(message);
+                    count++;
+                }
+            }
+        } while (page.hasNext());
+        trim();
+        ready = true;
+        logger.info("Índice de búsqueda en memoria construido: {} mensajes, {} términos, {} apariciones en {} ms",
+                count, termCount(), postingCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void addAll(List<TelegramMessage> messages) {
+        if (enabled) {
+            messages.forEach(this::add);
+        }
+    }
+
+    public void add(TelegramMessage message) {
+        if (message.getId() == null || message.getText() == null) {
+            return;
+        }
+        int id = Math.toIntExact(message.getId());
+        Set<String> terms = new LinkedHashSet<>(tokenize(message.getText()));
+        lock.writeLock().lock();
+        try {
+            for (String term : terms) {
+                postings.computeIfAbsent(term, key -> new PostingList()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mensajes que contienen todos los términos de la consulta, del id más alto al más bajo.
+     */
+    public Hits search(String query, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            return new Hits(0, new int[0]);
+        }
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    return new Hits(0, new int[0]);
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            PostingList shortest = lists.get(0);
+            if (lists.size() == 1) {
+                // Un solo término: se copia solo la página pedida
+                return page(shortest.ids, shortest.size, offset, limit);
+            }
+            int[] matches = Arrays.copyOf(shortest.ids, shortest.size);
+            int size = matches.length;
+            for (int i = 1; i < lists.size() && size > 0; i++) {
+                size = intersect(matches, size, lists.get(i));
+            }
+            return page(matches, size, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Hits page(int[] ascending, int size, int offset, int limit) {
+        int from = Math.max(0, size - offset - limit);
+        int to = Math.max(0, size - offset);
+        int[] page = new int[to - from];
+        for (int i = 0; i < page.length; i++) {
+            page[i] = ascending[to - 1 - i];
+        }
+        return new Hits(size, page);
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long postingCount() {
+        lock.readLock().lock();
+        try {
+            return postings.values().stream().mapToLong(list -> list.size).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Minúsculas, sin acentos ni diacríticos (à→a, ç→c, ñ→n, l·l→ll) y partido por todo lo que
+     * no sea letra o número; se descartan los tokens de una letra (l', d', s').
+     */
+    public static List<String> tokenize(String text) {
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT)
+                .replace("·", "");
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (token.length() > 1) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Deja en matches[0..size) solo los ids presentes también en other; ambas listas están ordenadas.
+    // Búsqueda galopante: los ids buscados son crecientes, así que cada búsqueda parte de la anterior
+    private static int intersect(int[] matches, int size, PostingList other) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < size && from < other.size; i++) {
+            int target = matches[i];
+            int step = 1;
+            int high = from;
+            while (high < other.size && other.ids[high] < target) {
+                from = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int position = Arrays.binarySearch(other.ids, from, Math.min(high + 1, other.size), target);
+            if (position >= 0) {
+                matches[kept++] = target;
+                from = position + 1;
+            } else {
+                from = -position - 1;
+            }
+        }
+        return kept;
+    }
+
+    private void trim() {
+        lock.writeLock().lock();
+        try {
+            postings.values().forEach(PostingList::trim);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static final class PostingList {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                // Ids fuera de orden (poco habitual: se insertan en orden creciente)
+                int position = Arrays.binarySearch(ids, 0, size, id);
+                if (position >= 0) {
+                    return;
+                }
+                insertAt(-position - 1, id);
+                return;
+            }
+            insertAt(size, id);
+        }
+
+        private void insertAt(int position, int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        void trim() {
+            if (ids.length > size) {
+                ids = Arrays.copyOf(ids, size);
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.demo.service;
+
+import com.example.demo.model.TelegramMessage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reparte en proceso los mensajes recién guardados a los clientes de
+ * {@code GET /api/telegram/messages/stream} (Server-Sent Events).
+ * Cada cliente tiene un buffer acotado y se le envía desde un pool propio, de modo que quien publica
+ * nunca espera por la red. Un cliente cuyo buffer se llena (consumidor lento) se desconecta; el
+ * navegador se reconecta solo y recarga la primera página del feed.
+ */
+@Component
+public class NewsStreamHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewsStreamHub.class);
+
+    public static final String MESSAGE_EVENT = "message";
+
+    @Value("${telegram.stream.max-clients:500}")
+    private int maxClients;
+
+    @Value("${telegram.stream.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${telegram.stream.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @Value("${telegram.stream.timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${telegram.stream.sender-threads:4}")
+    private int senderThreads;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong dropped = new AtomicLong();
+    private ExecutorService senders;
+    private ScheduledExecutorService heartbeat;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        // Hilos de plataforma también en el modo de hilos virtuales: SseEmitter.send escribe en el socket
+        // dentro de un bloque synchronized y un cliente lento anclaría el carrier
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "news-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "news-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // El comentario periódico mantiene viva la conexión en proxies y detecta clientes desconectados
+        heartbeat.scheduleAtFixedRate(() -> broadcast(SseEmitter.event().comment("ping")),
+                heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    /**
+     * @return el emisor del nuevo cliente, o {@code null} si se ha alcanzado el máximo de clientes
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxClients) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        register(emitter);
+        return emitter;
+    }
+
+    void register(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+    }
+
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    public void publish(List<TelegramMessage> messages) {
+        for (TelegramMessage message : messages) {
+            broadcast(SseEmitter.event()
+                    .id(TelegramService.cursorOf(message))
+                    .name(MESSAGE_EVENT)
+                    .data(message, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void broadcast(SseEmitter.SseEventBuilder builder) {
+        // build() modifica el builder (añade el salto de línea final cada vez): se construye una sola vez
+        // y todos los clientes comparten el resultado, que ya no cambia
+        Set<ResponseBodyEmitter.DataWithMediaType> event = Collections.unmodifiableSet(builder.build());
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.buffer.offer(event)) {
+                drop(subscriber);
+                continue;
+            }
+            if (subscriber.sending.compareAndSet(false, true)) {
+                senders.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Set<ResponseBodyEmitter.DataWithMediaType> event;
+            while ((event = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+        } catch (Exception e) {
+            // Cliente desconectado: Spring llama a onError/onCompletion y se elimina
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.sending.set(false);
+        }
+        // Un evento pudo llegar entre el último poll y liberar el flag
+        if (!subscriber.buffer.isEmpty() && subscriber.sending.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            dropped.incrementAndGet();
+            logger.warn("Cliente SSE lento desconectado ({} eventos pendientes)", subscriber.buffer.size());
+            // complete() espera a que termine un send en curso: se cierra desde el pool de envío
+            senders.execute(subscriber.emitter::complete);
+        }
+    }
+
+    private record Subscriber(SseEmitter emitter, BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> buffer,
+                              AtomicBoolean sending) {
+        Subscriber(SseEmitter emitter, BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> buffer) {
+            this(emitter, buffer, new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.IngestResult;
+import com.example.demo.dto.IngestionStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ingesta de Telegram en segundo plano. Con {@code telegram.ingest.worker.enabled=true} mantiene
+ * un bucle de long polling contra getUpdates (una sola conexión abierta, los posts llegan en segundos)
+ * y, si falla, reintenta con backoff exponencial con jitter.
+ * Solo hay una llamada a getUpdates en vuelo a la vez: las peticiones manuales se unen a la que
+ * está en curso en lugar de lanzar otra (Telegram responde 409 a getUpdates concurrentes).
+ */
+@Component
+public class TelegramIngestionWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelegramIngestionWorker.class);
+
+    public enum State { IDLE, POLLING, BACKOFF, STOPPED }
+
+    @Autowired
+    private TelegramService telegramService;
+
+    @Autowired
+    private TelegramWebhookQueue webhookQueue;
+
+    @Value("${telegram.ingest.worker.enabled:false}")
+    private boolean longPolling;
+
+    @Value("${telegram.ingest.poll-timeout-seconds:25}")
+    private int pollTimeoutSeconds;
+
+    @Value("${telegram.ingest.backoff.initial-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${telegram.ingest.backoff.max-ms:60000}")
+    private long maxBackoffMs;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "telegram-ingest");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean inFlight = new AtomicBoolean();
+    private final AtomicLong totalInserted = new AtomicLong();
+    private volatile State state = State.IDLE;
+    private volatile int consecutiveFailures;
+    private volatile LocalDateTime lastSuccessAt;
+    private volatile String lastError;
+    private ScheduledFuture<?> next;
+    private volatile Disposable current;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (longPolling && webhookQueue.isEnabled()) {
+            // Telegram rechaza getUpdates mientras hay un webhook configurado
+            logger.info("Webhook de Telegram activo: long polling desactivado");
+            longPolling = false;
+        }
+        if (longPolling) {
+            logger.info("Iniciando long polling de Telegram (timeout {}s)", pollTimeoutSeconds);
+            schedule(0);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        state = State.STOPPED;
+        scheduler.shutdownNow();
+        Disposable poll = current;
+        if (poll != null) {
+            poll.dispose();
+        }
+    }
+
+    /**
+     * Pide una sincronización sin bloquear. Si ya hay una en curso se une a ella; si el bucle
+     * está esperando por backoff, adelanta el siguiente intento. Con el webhook activo no hace nada:
+     * los updates ya llegan por push, Telegram responde 409 a getUpdates y el offset lo escribe el webhook.
+     */
+    public IngestionStatus requestSync() {
+        if (webhookQueue.isEnabled()) {
+            return status(false);
+        }
+        if (inFlight.get()) {
+            return status(true);
+        }
+        schedule(0);
+        return status(false);
+    }
+
+    public IngestionStatus status() {
+        return status(inFlight.get());
+    }
+
+    private IngestionStatus status(boolean coalesced) {
+        return new IngestionStatus(state.name(), longPolling, coalesced, consecutiveFailures,
+                lastSuccessAt, lastError, totalInserted.get());
+    }
+
+    private synchronized void schedule(long delayMs) {
+        if (state == State.STOPPED) {
+            return;
+        }
+        if (next != null && !next.isDone()) {
+            next.cancel(false);
+        }
+        next = scheduler.schedule(this::runCycle, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void runCycle() {
+        if (!inFlight.compareAndSet(false, true)) {
+            return;
+        }
+        state = State.POLLING;
+        // La espera del long polling no ocupa ningún hilo: se continúa en los callbacks
+        current = telegramService.pollUpdates(longPolling ? pollTimeoutSeconds : 0)
+                .subscribe(this::onSuccess, this::onError);
+    }
+
+    private void onSuccess(IngestResult result) {
+        totalInserted.addAndGet(result.getInserted());
+        consecutiveFailures = 0;
+        lastSuccessAt = LocalDateTime.now();
+        lastError = null;
+        finishCycle(longPolling ? 0 : -1);
+    }
+
+    private void onError(Throwable e) {
+        consecutiveFailures++;
+        lastError = e.getMessage();
+        long nextDelayMs = -1;
+        if (longPolling) {
+            nextDelayMs = backoffMs(consecutiveFailures);
+            logger.warn("Error en long polling de Telegram (intento {}), reintento en {} ms: {}",
+                    consecutiveFailures, nextDelayMs, e.getMessage());
+        } else {
+            logger.error("Error al sincronizar mensajes de Telegram: {}", e.getMessage());
+        }
+        finishCycle(nextDelayMs);
+    }
+
+    private void finishCycle(long nextDelayMs) {
+        if (state != State.STOPPED) {
+            state = nextDelayMs > 0 ? State.BACKOFF : (nextDelayMs == 0 ? State.POLLING : State.IDLE);
+        }
+        inFlight.set(false);
+        if (nextDelayMs >= 0) {
+            schedule(nextDelayMs);
+        }
+    }
+
+    // Backoff exponencial con jitter de ±20 % para no sincronizar reintentos tras una caída de la API
+    long backoffMs(int failures) {
+        long exponential = initialBackoffMs << Math.min(failures - 1, 20);
+        long capped = Math.min(maxBackoffMs, exponential);
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return (long) (capped * jitter);
+    }
+}
@@ -1,95 +1,378 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.FeedVersion;
+import com.example.demo.dto.IngestResult;
+import com.example.demo.dto.PageResponse;
+import com.example.demo.dto.TelegramChannelPost;
+import com.example.demo.dto.TelegramUpdate;
 import com.example.demo.model.TelegramMessage;
+import com.example.demo.model.TelegramSyncState;
+import com.example.demo.repository.TelegramMessageBatchWriter;
 import com.example.demo.repository.TelegramMessageRepository;
+import com.example.demo.repository.TelegramMessageSearchRepository;
+import com.example.demo.repository.TelegramSyncStateRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClientRequest;
+import reactor.util.retry.Retry;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TelegramService {
 
     private static final Logger logger = LoggerFactory.getLogger(TelegramService.class);
 
+    private static final int REQUEST_TIMEOUT_MARGIN_SECONDS = 10;
+
     @Autowired
     private TelegramMessageRepository messageRepository;
 
+    @Autowired
+    private NewsFeedCache feedCache;
+
+    @Autowired
+    private NewsStreamHub streamHub;
+
+    @Autowired
+    private NewsSearchIndex searchIndex;
+
+    @Autowired
+    private TelegramSyncStateRepository syncStateRepository;
+
+    @Autowired
+    private TelegramMessageBatchWriter batchWriter;
+
+    @Autowired
+    private TelegramMessageSearchRepository searchRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TelegramUpdateReader updateReader;
+
     @Value("${telegram.bot.token}")
     private String botToken;
 
     @Value("${telegram.channel.username}")
     private String channelUsername;
 
-    private final WebClient webClient;
+    @Value("${telegram.updates.limit:100}")
+    private int updatesLimit;
+
+    @Value("${telegram.updates.max-response-bytes:8388608}")
+    private int maxResponseBytes;
+
+    @Value("${telegram.http.retry.max-attempts:2}")
+    private int retryMaxAttempts;
+
+    @Value("${telegram.http.retry.initial-backoff-ms:200}")
+    private long retryInitialBackoffMs;
 
-    public TelegramService() {
-        this.webClient = WebClient.builder()
-                .baseUrl("https://api.telegram.org")
-                .build();
+    // Configurado en TelegramClientConfig (pool, keep-alive y timeouts)
+    @Autowired
+    private WebClient telegramWebClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Primera página del feed servida desde {@link NewsFeedCache}, ya serializada.
+     */
+    public NewsFeedCache.CachedPage getLatestMessagesPage(int limit) {
+        return feedCache.getLatest(channelUsername, limit,
+                () -> messageRepository.findLatest(channelUsername, PageRequest.of(0, limit)));
     }
 
-    public List<TelegramMessage> getChannelMessages() {
-        return messageRepository.findByChannelUsernameOrderByMessageDateDesc(channelUsername);
+    public FeedVersion getFeedVersion() {
+        return feedCache.getVersion(channelUsername, () -> messageRepository.findFeedVersion(channelUsername));
     }
 
-    public void fetchAndSaveMessages() {
-        try {
-            String url = String.format("/bot%s/getUpdates", botToken);
-            
-            Map<String, Object> response = webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-
-            if (response != null && (Boolean) response.get("ok")) {
-                List<Map<String, Object>> updates = (List<Map<String, Object>>) response.get("result");
-                
-                for (Map<String, Object> update : updates) {
-                    if (update.containsKey("channel_post")) {
-                        Map<String, Object> post = (Map<String, Object>) update.get("channel_post");
-                        saveMessage(post);
-                    }
+    public static String cursorOf(TelegramMessage message) {
+        return message.getMessageDate() + "," + message.getId();
+    }
+
+    /**
+     * Devuelve como máximo {@code limit} mensajes del canal, del más reciente al más antiguo.
+     * Sin cursor devuelve los últimos; con cursor, los anteriores a (beforeDate, beforeId).
+     */
+    public List<TelegramMessage> getChannelMessages(LocalDateTime beforeDate, Long beforeId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        if (beforeDate == null || beforeId == null) {
+            return messageRepository.findLatest(channelUsername, page);
+        }
+        return messageRepository.findBefore(channelUsername, beforeDate, beforeId, page);
+    }
+
+    /**
+     * Una llamada a getUpdates desde el último offset guardado. Con {@code timeoutSeconds > 0}
+     * es long polling: Telegram mantiene la conexión abierta hasta que llega un update o vence el plazo.
+     * No bloquea a quien llama: la espera es de E/S en el event loop y el guardado (JPA) se ejecuta
+     * en el pool elástico. Los fallos transitorios se reintentan con jitter; el resto se propaga
+     * como error para que quien llama decida el backoff.
+     */
+    public Mono<IngestResult> pollUpdates(int timeoutSeconds) {
+        return Mono.fromCallable(this::loadSyncState)
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(state -> Mono.usingWhen(requestUpdates(state, timeoutSeconds),
+                        body -> Mono.fromCallable(() -> decodeAndSave(state, body))
+                                .subscribeOn(Schedulers.boundedElastic()),
+                        TelegramService::release,
+                        (body, error) -> release(body),
+                        TelegramService::release))
+                .defaultIfEmpty(IngestResult.empty());
+    }
+
+    // join ya libera los fragmentos que descarta; aquí solo el buffer unido, se decodifique o se cancele antes
+    private static Mono<Void> release(DataBuffer body) {
+        return Mono.fromRunnable(() -> DataBufferUtils.release(body));
+    }
+
+    private Mono<DataBuffer> requestUpdates(TelegramSyncState state, int timeoutSeconds) {
+        // Solo se piden los updates posteriores al último procesado; pedir offset = last + 1
+        // confirma a Telegram todos los anteriores y dejan de reenviarse
+        long offset = state.getLastUpdateId() != null ? state.getLastUpdateId() + 1 : 0;
+
+        // Cuerpo sin decodificar unido en un solo buffer, con tope de tamaño: una respuesta mayor falla
+        // sin seguir acumulando. TelegramUpdateReader lo decodifica después sin construir el árbol JSON
+        Mono<DataBuffer> response = DataBufferUtils.join(telegramWebClient.get()
+                        .uri(uriBuilder -> uriBuilder
+                                .path("/bot{token}/getUpdates")
+                                .queryParam("offset", offset)
+                                .queryParam("limit", updatesLimit)
+                                .queryParam("timeout", timeoutSeconds)
+                                .build(botToken))
+                        .httpRequest(request -> {
+                            // Margen sobre el timeout de Telegram para no quedarse colgado en una conexión muerta
+                            HttpClientRequest nativeRequest = request.getNativeRequest();
+                            nativeRequest.responseTimeout(Duration.ofSeconds(timeoutSeconds + REQUEST_TIMEOUT_MARGIN_SECONDS));
+                        })
+                        .retrieve()
+                        .bodyToFlux(DataBuffer.class), maxResponseBytes)
+                .retryWhen(Retry.backoff(retryMaxAttempts, Duration.ofMillis(retryInitialBackoffMs))
+                        .jitter(0.5)
+                        .filter(TelegramService::isRetryable)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .onErrorMap(DataBufferLimitException.class, e -> new IllegalStateException(
+                        "Respuesta de getUpdates mayor de " + maxResponseBytes + " bytes "
+                                + "(telegram.updates.max-response-bytes); reducir telegram.updates.limit", e));
+
+        // Latencia de Telegram con reintentos incluidos; en long polling incluye la espera de updates
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return response
+                    .doOnSuccess(body -> sample.stop(apiTimer(timeoutSeconds, "success")))
+                    .doOnError(error -> sample.stop(apiTimer(timeoutSeconds, outcomeOf(error))));
+        });
+    }
+
+    private Timer apiTimer(int timeoutSeconds, String outcome) {
+        return Timer.builder("telegram.api.requests")
+                .description("Llamadas a getUpdates de la Bot API")
+                .tag("method", "getUpdates")
+                .tag("long_poll", String.valueOf(timeoutSeconds > 0))
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String outcomeOf(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return "http_" + response.getStatusCode().value();
+        }
+        if (error.getCause() instanceof DataBufferLimitException) {
+            return "too_large";
+        }
+        return error instanceof WebClientRequestException ? "io_error" : "error";
+    }
+
+    // Errores de red, timeouts, 5xx y 429; un 409 (otro getUpdates en curso) o un 401 no se arreglan reintentando
+    static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return error instanceof WebClientRequestException;
+    }
+
+    private TelegramSyncState loadSyncState() {
+        String botId = botId();
+        return syncStateRepository.findById(botId)
+                .orElseGet(() -> new TelegramSyncState(botId, null, null));
+    }
+
+    private IngestResult decodeAndSave(TelegramSyncState state, DataBuffer body) {
+        UpdateBatch batch = new UpdateBatch(state.getLastUpdateId());
+        try (InputStream in = body.asInputStream()) {
+            updateReader.read(in, batch::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al leer la respuesta de getUpdates", e);
+        }
+        return saveUpdates(state, batch);
+    }
+
+    /**
+     * Persiste updates recibidos por push (webhook). Reutiliza el mismo camino que el polling,
+     * incluido el registro del último update_id, para poder volver a getUpdates sin reprocesar.
+     */
+    public IngestResult ingestUpdates(List<TelegramUpdate> updates) {
+        TelegramSyncState state = loadSyncState();
+        UpdateBatch batch = new UpdateBatch(state.getLastUpdateId());
+        updates.forEach(batch::add);
+        return saveUpdates(state, batch);
+    }
+
+    private IngestResult saveUpdates(TelegramSyncState state, UpdateBatch batch) {
+        Long lastUpdateId = batch.lastUpdateId;
+        // Un update reentregado por el webhook puede ser anterior al offset guardado: el lote se
+        // inserta igualmente (los duplicados se ignoran) y el offset nunca retrocede
+        if (batch.messages.isEmpty() && (lastUpdateId == null || lastUpdateId.equals(state.getLastUpdateId()))) {
+            return IngestResult.empty();
+        }
+
+        // Mensajes y offset en la misma transacción: nunca se confirma un update sin persistirlo
+        state.setLastUpdateId(lastUpdateId);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        IngestResult result = transactionTemplate.execute(status -> {
+            IngestResult inserted = batchWriter.insertIgnoringDuplicates(batch.messages);
+            syncStateRepository.save(state);
+            return inserted;
+        });
+        sample.stop(meterRegistry.timer("telegram.ingest.save"));
+        recordBatch(batch.updates, result);
+
+        if (result.getInserted() > 0) {
+            feedCache.invalidate();
+            // Las filas insertadas por JDBC se releen (con su id) solo si alguien las necesita
+            if (streamHub.hasSubscribers() || searchIndex.isEnabled()) {
+                List<TelegramMessage> inserted =
+                        messageRepository.findByMessageIdInOrderByMessageDateAscIdAsc(result.getInsertedMessageIds());
+                searchIndex.addAll(inserted);
+                streamHub.publish(inserted);
+            }
+        }
+        logger.info("Sincronizados {} updates de Telegram (último update_id: {}): {} insertados, {} omitidos",
+                batch.updates, lastUpdateId, result.getInserted(), result.getSkipped());
+        return result;
+    }
+
+    private void recordBatch(int updates, IngestResult result) {
+        DistributionSummary.builder("telegram.ingest.batch.size")
+                .description("Updates recibidos por lote (getUpdates o webhook)")
+                .baseUnit("updates")
+                .register(meterRegistry)
+                .record(updates);
+        meterRegistry.counter("telegram.ingest.messages", "result", "inserted").increment(result.getInserted());
+        meterRegistry.counter("telegram.ingest.messages", "result", "skipped").increment(result.getSkipped());
+    }
+
+    // El offset de getUpdates es por bot: se usa el id numérico del token (la parte antes de ':')
+    private String botId() {
+        int separator = botToken.indexOf(':');
+        return separator > 0 ? botToken.substring(0, separator) : botToken;
+    }
+
+    /**
+     * Acumula los posts de canal y el mayor update_id a medida que se decodifica cada update.
+     */
+    private class UpdateBatch {
+        private final List<TelegramMessage> messages = new ArrayList<>();
+        private Long lastUpdateId;
+        private int updates;
+
+        UpdateBatch(Long lastUpdateId) {
+            this.lastUpdateId = lastUpdateId;
+        }
+
+        void add(TelegramUpdate update) {
+            updates++;
+            if (update.channelPost() != null) {
+                TelegramMessage message = toMessage(update.channelPost());
+                if (message != null) {
+                    messages.add(message);
                 }
             }
-        } catch (WebClientResponseException e) {
-            logger.error("Error al obtener mensajes de Telegram: {}", e.getMessage());
-        } catch (Exception e) {
-            logger.error("Error inesperado: {}", e.getMessage());
+            if (update.updateId() != null && (lastUpdateId == null || update.updateId() > lastUpdateId)) {
+                lastUpdateId = update.updateId();
+            }
         }
     }
 
-    private void saveMessage(Map<String, Object> post) {
+    private TelegramMessage toMessage(TelegramChannelPost post) {
+        if (post.messageId() == null || post.date() == null) {
+            logger.error("Post de canal sin message_id o date: {}", post);
+            return null;
+        }
         try {
-            Integer messageId = (Integer) post.get("message_id");
-            
-            if (!messageRepository.existsByMessageId(messageId)) {
-                TelegramMessage message = new TelegramMessage();
-                message.setMessageId(messageId);
-                message.setText((String) post.get("text"));
-                message.setChannelUsername(channelUsername);
-                
-                Integer date = (Integer) post.get("date");
-                LocalDateTime messageDate = LocalDateTime.ofInstant(
-                        Instant.ofEpochSecond(date), ZoneId.systemDefault());
-                message.setMessageDate(messageDate);
-                
-                messageRepository.save(message);
-                logger.info("Mensaje guardado: {}", messageId);
-            }
-        } catch (Exception e) {
-            logger.error("Error al guardar mensaje: {}", e.getMessage());
+            TelegramMessage message = new TelegramMessage();
+            message.setMessageId(Math.toIntExact(post.messageId()));
+            message.setText(post.text());
+            message.setChannelUsername(channelUsername);
+            message.setMessageDate(LocalDateTime.ofInstant(Instant.ofEpochSecond(post.date()), ZoneId.systemDefault()));
+            return message;
+        } catch (ArithmeticException e) {
+            logger.error("message_id fuera de rango: {}", post.messageId());
+            return null;
+        }
+    }
+
+    /**
+     * Búsqueda de texto completo en los mensajes del canal, por relevancia y después por fecha.
+     */
+    public PageResponse<TelegramMessage> searchMessages(String query, int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size);
+        if (!searchIndex.isReady()) {
+            return searchTimer("database").record(() ->
+                    PageResponse.of(searchRepository.search(channelUsername, query.trim(), pageable)));
         }
+        return searchTimer("index").record(() -> searchWithIndex(query, pageable));
+    }
+
+    private PageResponse<TelegramMessage> searchWithIndex(String query, PageRequest pageable) {
+        int size = pageable.getPageSize();
+        // El índice en memoria resuelve la consulta; a la base de datos solo se piden los ids de la página
+        NewsSearchIndex.Hits hits = searchIndex.search(query, (int) pageable.getOffset(), size);
+        List<Long> ids = Arrays.stream(hits.ids()).mapToObj(id -> (long) id).toList();
+        Map<Long, TelegramMessage> byId = messageRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(TelegramMessage::getId, Function.identity()));
+        List<TelegramMessage> content = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return PageResponse.of(new PageImpl<>(content, pageable, hits.total()));
+    }
+
+    private Timer searchTimer(String engine) {
+        return Timer.builder("telegram.search")
+                .description("Búsquedas de texto completo, incluida la carga de la página")
+                .tag("engine", engine)
+                .register(meterRegistry);
     }
 
     public TelegramMessage createManualMessage(String text) {
@@ -99,6 +382,10 @@ public class TelegramService {
         message.setChannelUsername(channelUsername);
         message.setMessageDate(LocalDateTime.now());
         
-        return messageRepository.save(message);
+        TelegramMessage saved = messageRepository.save(message);
+        feedCache.invalidate();
+        searchIndex.addAll(List.of(saved));
+        streamHub.publish(List.of(saved));
+        return saved;
     }
 }
@@ -0,0 +1,65 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TelegramUpdate;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Lee la respuesta de getUpdates ({@code {"ok":..,"result":[..],"description":..}}) con el parser
+ * en streaming de Jackson: cada elemento de {@code result} se decodifica a {@link TelegramUpdate} y
+ * se entrega al consumidor antes de leer el siguiente, sin construir el árbol genérico de Maps.
+ */
+@Component
+public class TelegramUpdateReader {
+
+    private final ObjectMapper objectMapper;
+
+    public TelegramUpdateReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return número de updates leídos
+     * @throws IllegalStateException si Telegram responde {@code ok=false}
+     */
+    public int read(InputStream body, Consumer<TelegramUpdate> consumer) throws IOException {
+        boolean ok = false;
+        String description = null;
+        int count = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("Respuesta de getUpdates no es un objeto JSON");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "ok" -> ok = value == JsonToken.VALUE_TRUE;
+                    case "description" -> description = parser.getValueAsString();
+                    case "result" -> {
+                        if (value != JsonToken.START_ARRAY) {
+                            parser.skipChildren();
+                            break;
+                        }
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            consumer.accept(objectMapper.readValue(parser, TelegramUpdate.class));
+                            count++;
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        if (!ok) {
+            throw new IllegalStateException("Respuesta no válida de getUpdates: "
+                    + (description != null ? description : "sin descripción"));
+        }
+        return count;
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TelegramUpdate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cola acotada entre el endpoint del webhook y la base de datos. El controlador solo encola y
+ * responde; un hilo propio vacía la cola por lotes y persiste con {@link TelegramService#ingestUpdates}.
+ * Si la cola está llena, {@link #offer} devuelve false y Telegram reintenta la entrega más tarde.
+ * Los updates encolados ya se confirmaron a Telegram con un 200 y no se reenviarán: si guardar un lote
+ * falla se reintenta con backoff exponencial (mientras tanto la cola se llena y el endpoint responde 503);
+ * agotados los intentos, los update_id descartados se registran en ERROR y se cuentan.
+ * Al cerrar la aplicación deja de aceptar updates y guarda lo pendiente con un plazo acotado; lo que
+ * no dé tiempo a guardar se descarta del mismo modo.
+ */
+@Component
+public class TelegramWebhookQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelegramWebhookQueue.class);
+
+    private static final long POLL_INTERVAL_MS = 500;
+    private static final long INTERRUPT_GRACE_MS = 1000;
+
+    @Autowired
+    private TelegramService telegramService;
+
+    // Vacío = webhook desactivado
+    @Value("${telegram.webhook.secret:}")
+    private String secret;
+
+    @Value("${telegram.webhook.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${telegram.webhook.batch-size:100}")
+    private int batchSize;
+
+    @Value("${telegram.webhook.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${telegram.webhook.retry.initial-backoff-ms:500}")
+    private long initialBackoffMs;
+
+    @Value("${telegram.webhook.retry.max-backoff-ms:30000}")
+    private long maxBackoffMs;
+
+    @Value("${telegram.webhook.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private BlockingQueue<TelegramUpdate> queue;
+    private Thread worker;
+    private volatile boolean running;
+    private volatile boolean accepting;
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        if (!isEnabled()) {
+            return;
+        }
+        running = true;
+        accepting = true;
+        worker = new Thread(this::drainLoop, "telegram-webhook");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        accepting = false;
+        running = false;
+        if (worker == null) {
+            return;
+        }
+        try {
+            // El hilo guarda lo que queda en la cola antes de terminar; si no le da tiempo, se le interrumpe
+            worker.join(shutdownTimeoutMs);
+            if (worker.isAlive()) {
+                worker.interrupt();
+                worker.join(INTERRUPT_GRACE_MS);
+            }
+        } catch (InterruptedException e) {
+            worker.interrupt();
+            Thread.currentThread().interrupt();
+        }
+        List<TelegramUpdate> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        if (!pending.isEmpty()) {
+            drop(pending, "cierre de la aplicación antes de guardarlos");
+        }
+    }
+
+    public boolean isEnabled() {
+        return secret != null && !secret.isBlank();
+    }
+
+    /**
+     * Comparación en tiempo constante del secreto de la ruta y de la cabecera
+     * {@code X-Telegram-Bot-Api-Secret-Token}.
+     */
+    public boolean isValidSecret(String candidate) {
+        if (!isEnabled() || candidate == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8), candidate.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean offer(TelegramUpdate update) {
+        boolean accepted = accepting && queue.offer(update);
+        if (!accepted) {
+            rejected.incrementAndGet();
+        }
+        return accepted;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public long getProcessedCount() {
+        return processed.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void drainLoop() {
+        List<TelegramUpdate> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                TelegramUpdate first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                persist(batch);
+                batch.clear();
+            }
+            // Cierre: ya no entra nada nuevo y lo encolado se guarda por el mismo camino
+            while (queue.drainTo(batch, batchSize) > 0) {
+                persist(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // La ingesta es idempotente (update_id y message_id ya guardados se omiten): reintentar un lote
+    // que falló a medias no duplica mensajes
+    void persist(List<TelegramUpdate> batch) throws InterruptedException {
+        long backoffMs = initialBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                telegramService.ingestUpdates(batch);
+                processed.addAndGet(batch.size());
+                return;
+            } catch (Exception e) {
+                if (attempt >= maxAttempts) {
+                    drop(batch, "tras " + attempt + " intentos: " + e.getMessage());
+                    return;
+                }
+                logger.warn("Error al persistir {} updates del webhook (intento {}/{}), reintento en {} ms: {}",
+                        batch.size(), attempt, maxAttempts, backoffMs, e.getMessage());
+            }
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                drop(batch, "interrumpido tras " + attempt + " intentos");
+                throw e;
+            }
+            backoffMs = Math.min(backoffMs * 2, maxBackoffMs);
+        }
+    }
+
+    private void drop(List<TelegramUpdate> batch, String reason) {
+        dropped.addAndGet(batch.size());
+        logger.error("Descartados {} updates del webhook ({}); update_id: {}", batch.size(), reason,
+                batch.stream().map(TelegramUpdate::updateId).toList());
+    }
+}
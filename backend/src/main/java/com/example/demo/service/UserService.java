@@ -1,29 +1,40 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.PageResponse;
 import com.example.demo.dto.UserResponseDTO;
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.CachedUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 public class UserService {
 
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name", "email", "username", "createdAt", "role");
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    public List<UserResponseDTO> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+    @Autowired
+    private CachedUserDetailsService userDetailsCache;
+
+    public PageResponse<UserResponseDTO> getUsers(Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("No se puede ordenar por: " + order.getProperty());
+            }
+        }
+        return PageResponse.of(userRepository.findAllAsResponseDTO(pageable));
     }
 
     public Optional<UserResponseDTO> getUserById(Long id) {
@@ -35,7 +46,10 @@ public class UserService {
             throw new RuntimeException("El email ya está registrado");
         }
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return toResponseDTO(userRepository.save(user));
+        User saved = userRepository.save(user);
+        // Un username puede reutilizarse tras una baja: nunca servir la entrada anterior
+        userDetailsCache.evict(saved.getUsername());
+        return toResponseDTO(saved);
     }
 
     public UserResponseDTO updateUser(Long id, User userDetails) {
@@ -46,13 +60,16 @@ public class UserService {
         user.setEmail(userDetails.getEmail());
         user.setPhone(userDetails.getPhone());
 
-        return toResponseDTO(userRepository.save(user));
+        User saved = userRepository.save(user);
+        userDetailsCache.evict(saved.getUsername());
+        return toResponseDTO(saved);
     }
 
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado con id: " + id));
         userRepository.delete(user);
+        userDetailsCache.evict(user.getUsername());
     }
 
     private UserResponseDTO toResponseDTO(User user) {
@@ -0,0 +1,38 @@
+-- Esquema de PostgreSQL para el perfil prod (ddl-auto=validate). Idempotente: se ejecuta en cada arranque.
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    phone VARCHAR(255),
+    username VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6),
+    role VARCHAR(20) NOT NULL DEFAULT 'USER'
+);
+
+CREATE TABLE IF NOT EXISTS telegram_messages (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    message_id INTEGER UNIQUE,
+    text TEXT,
+    channel_username VARCHAR(255),
+    message_date TIMESTAMP(6),
+    created_at TIMESTAMP(6)
+);
+
+-- Paginación keyset del feed: WHERE channel_username = ? ORDER BY message_date DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_telegram_messages_channel_date_id
+    ON telegram_messages (channel_username, message_date DESC, id DESC);
+
+-- Búsqueda de texto completo (TelegramMessageSearchRepository). 'spanish' debe coincidir con
+-- telegram.search.ts-config: la aplicación no arranca si la columna usa otra configuración
+ALTER TABLE telegram_messages ADD COLUMN IF NOT EXISTS text_search tsvector
+    GENERATED ALWAYS AS (to_tsvector('spanish', coalesce(text, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_telegram_messages_text_search
+    ON telegram_messages USING GIN (text_search);
+
+CREATE TABLE IF NOT EXISTS telegram_sync_state (
+    bot_id VARCHAR(255) PRIMARY KEY,
+    last_update_id BIGINT,
+    updated_at TIMESTAMP(6)
+);
@@ -1,6 +1,7 @@
 package com.example.demo.auth;
 
 import com.example.demo.model.Role;
+import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -105,4 +107,31 @@ class AuthControllerIntegrationTest {
                 .andExpect(jsonPath("$.id").isNumber())
                 .andExpect(jsonPath("$.username").value("logintest"));
     }
+
+    @Test
+    void login_conHashLegacySinPrefijo_seReHasheaConPrefijoDeAlgoritmo() throws Exception {
+        User legacy = new User();
+        legacy.setName("Legacy");
+        legacy.setUsername("legacyuser");
+        legacy.setEmail("legacy@test.com");
+        legacy.setPassword(new BCryptPasswordEncoder().encode("Password1"));
+        userRepository.save(legacy);
+
+        String loginBody = """
+            {"username": "legacyuser", "password": "Password1"}
+            """;
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(loginBody))
+                .andExpect(status().isOk());
+
+        assertThat(userRepository.findByUsername("legacyuser"))
+                .hasValueSatisfying(u -> assertThat(u.getPassword()).startsWith("{bcrypt}$2a$10$"));
+
+        // El nuevo hash sigue siendo válido para el siguiente login
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(loginBody))
+                .andExpect(status().isOk());
+    }
 }
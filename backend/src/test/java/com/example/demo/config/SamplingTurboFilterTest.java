@@ -0,0 +1,67 @@
+package com.example.demo.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SamplingTurboFilterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private SamplingTurboFilter filter;
+    private Logger authLogger;
+    private Logger otherLogger;
+
+    @BeforeEach
+    void setUp() {
+        LoggerContext context = new LoggerContext();
+        authLogger = context.getLogger("com.example.demo.security.AuthTokenFilter");
+        authLogger.setLevel(Level.INFO);
+        otherLogger = context.getLogger("com.example.demo.service.TelegramService");
+        otherLogger.setLevel(Level.INFO);
+
+        filter = new SamplingTurboFilter();
+        filter.setLoggers("com.example.demo.security, com.example.demo.controller.AuthController");
+        filter.setMaxPerSecond(2);
+        filter.nanoClock = now::get;
+        filter.start();
+    }
+
+    @Test
+    void superadoElCupo_descartaHastaLaSiguienteVentana() {
+        assertThat(decide(authLogger, Level.WARN)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(authLogger, Level.WARN)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(authLogger, Level.WARN)).isEqualTo(FilterReply.DENY);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(decide(authLogger, Level.WARN)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSuppressed()).isEqualTo(1);
+    }
+
+    @Test
+    void errores_loggersNoConfigurados_yComprobacionesDeNivel_noConsumenCupo() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(decide(authLogger, Level.ERROR)).isEqualTo(FilterReply.NEUTRAL);
+            assertThat(decide(otherLogger, Level.WARN)).isEqualTo(FilterReply.NEUTRAL);
+            assertThat(filter.decide(null, authLogger, Level.WARN, null, null, null)).isEqualTo(FilterReply.NEUTRAL);
+            // DEBUG está por debajo del nivel efectivo: lo descarta el propio logger
+            assertThat(decide(authLogger, Level.DEBUG)).isEqualTo(FilterReply.NEUTRAL);
+        }
+
+        assertThat(decide(authLogger, Level.WARN)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSuppressed()).isZero();
+    }
+
+    private FilterReply decide(Logger logger, Level level) {
+        return filter.decide(null, logger, level, "mensaje {}", new Object[]{1}, null);
+    }
+}
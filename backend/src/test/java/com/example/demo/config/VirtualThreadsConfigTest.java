@@ -0,0 +1,43 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadsConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withUserConfiguration(VirtualThreadsConfig.class);
+
+    @Test
+    void sinPropiedad_noSeRegistraNada() {
+        contextRunner.run(context -> assertThat(context)
+                .hasNotFailed()
+                .doesNotHaveBean(VirtualThreadsConfig.class)
+                .doesNotHaveBean(AsyncTaskExecutor.class));
+    }
+
+    @Test
+    void activado_ejecutaEnHilosVirtuales_oFallaAlArrancarAntesDeJava21() {
+        contextRunner.withPropertyValues("threads.virtual.enabled=true").run(context -> {
+            if (!VirtualThreads.isSupported()) {
+                assertThat(context).hasFailed();
+                assertThat(context.getStartupFailure()).rootCause().hasMessageContaining("Java 21");
+                return;
+            }
+            assertThat(context).hasSingleBean(VirtualThreadPinningMonitor.class);
+            AsyncTaskExecutor executor = context.getBean("applicationTaskExecutor", AsyncTaskExecutor.class);
+            Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, executor).get(5, TimeUnit.SECONDS);
+            assertThat(VirtualThreads.isVirtual(thread)).isTrue();
+            assertThat(thread.getName()).startsWith("task-vt-");
+        });
+    }
+}
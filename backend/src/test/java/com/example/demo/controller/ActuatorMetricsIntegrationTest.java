@@ -0,0 +1,87 @@
+package com.example.demo.controller;
+
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=health,prometheus")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class ActuatorMetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void cleanDatabase() {
+        userRepository.deleteAll();
+    }
+
+    // En el puerto de la API /actuator/prometheus exige ADMIN: expone los timers del login, las cachés
+    // y el pool de conexiones. Sin management.server.port no hay puerto de gestión abierto al scraping
+    @Test
+    void prometheus_comoAdmin_exponeMetricasDeLoginCachesYHikari() throws Exception {
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "Métricas", "username": "metricas", "email": "metricas@test.com",
+                                 "password": "Password1", "phone": "600000000"}
+                                """))
+                .andExpect(status().is2xxSuccessful());
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"metricas\", \"password\": \"Password1\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"metricas\", \"password\": \"incorrecta\"}"))
+                .andExpect(status().isUnauthorized());
+
+        // Usuario en la propia petición: el login de arriba deja su autenticación en el contexto de la prueba
+        String scrape = mockMvc.perform(get("/actuator/prometheus").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("auth_login_seconds_count{outcome=\"success\"")
+                .contains("auth_login_seconds_count{outcome=\"bad_credentials\"")
+                .contains("auth_password_hash_seconds_count")
+                .contains("cache_gets_total{cache=\"userDetails\"")
+                .contains("hikaricp_connections_active")
+                .contains("telegram_webhook_queue")
+                .contains("telegram_stream_subscribers");
+    }
+
+    @Test
+    void prometheus_sinAutenticar_devuelve401() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void prometheus_comoUsuario_devuelve403() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(user("familia").roles("USER")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void health_esPublico() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
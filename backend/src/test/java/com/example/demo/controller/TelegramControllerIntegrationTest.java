@@ -1,6 +1,9 @@
 package com.example.demo.controller;
 
+import com.example.demo.model.TelegramMessage;
+import com.example.demo.repository.TelegramMessageRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.service.NewsFeedCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,12 +11,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultMatcher;
 
+import java.time.LocalDateTime;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -26,9 +38,17 @@ class TelegramControllerIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TelegramMessageRepository messageRepository;
+
+    @Autowired
+    private NewsFeedCache feedCache;
+
     @BeforeEach
     void cleanDatabase() {
         userRepository.deleteAll();
+        messageRepository.deleteAll();
+        feedCache.invalidate();
     }
 
     // CA-1.3.1: GET /api/telegram/messages es público (sin token → 200)
@@ -72,6 +92,149 @@ class TelegramControllerIntegrationTest {
                 .andExpect(isNotUnauthorized());
     }
 
+    // GET /api/telegram/messages devuelve solo los últimos N y el cursor de la página siguiente
+    @Test
+    void getMessages_paginaPorCursor() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 10, 9, 0);
+        saveMessage(1, base);
+        saveMessage(2, base.plusHours(1));
+        saveMessage(3, base.plusHours(1));
+        saveMessage(4, base.plusHours(2));
+
+        MvcResult first = mockMvc.perform(get("/api/telegram/messages").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].messageId").value(4))
+                .andExpect(jsonPath("$[1].messageId").value(3))
+                .andExpect(header().exists(TelegramController.NEXT_CURSOR_HEADER))
+                .andReturn();
+
+        String cursor = first.getResponse().getHeader(TelegramController.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/api/telegram/messages").param("before", cursor).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].messageId").value(2))
+                .andExpect(jsonPath("$[1].messageId").value(1));
+    }
+
+    // Crear una noticia invalida la caché de la portada
+    @Test
+    void createManualMessage_invalidaLaCacheDelFeed() throws Exception {
+        mockMvc.perform(get("/api/telegram/messages"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(post("/api/telegram/manual")
+                        .with(user("admin").roles("USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\": \"nueva noticia\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/telegram/messages"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].text").value("nueva noticia"));
+    }
+
+    // Si el ETag coincide, 304 sin cuerpo; tras una noticia nueva el ETag cambia
+    @Test
+    void getMessages_conIfNoneMatch_devuelveNotModifiedHastaQueCambiaElFeed() throws Exception {
+        saveMessage(1, LocalDateTime.of(2024, 1, 10, 9, 0));
+
+        MvcResult first = mockMvc.perform(get("/api/telegram/messages"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", containsString("max-age")))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/telegram/messages").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(post("/api/telegram/manual")
+                        .with(user("admin").roles("USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\": \"otra noticia\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/telegram/messages").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    // Un cursor mal formado devuelve 400
+    @Test
+    void getMessages_cursorInvalido_devuelveBadRequest() throws Exception {
+        mockMvc.perform(get("/api/telegram/messages").param("before", "ayer"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // GET /api/telegram/messages/search es público, ignora mayúsculas y exige todos los términos
+    @Test
+    void searchMessages_devuelveSoloLosQueContienenTodosLosTerminos() throws Exception {
+        saveMessage(1, LocalDateTime.of(2024, 1, 10, 9, 0), "Reunión de familias el jueves");
+        saveMessage(2, LocalDateTime.of(2024, 1, 11, 9, 0), "Excursión al museo: reunión previa");
+        saveMessage(3, LocalDateTime.of(2024, 1, 12, 9, 0), "Menú del comedor");
+
+        mockMvc.perform(get("/api/telegram/messages/search").param("q", "REUNIÓN").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.totalPages").value(2))
+                .andExpect(jsonPath("$.content[0].messageId").value(2));
+
+        mockMvc.perform(get("/api/telegram/messages/search").param("q", "reunión familias"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].messageId").value(1));
+    }
+
+    @Test
+    void searchMessages_sinConsulta_devuelveBadRequest() throws Exception {
+        mockMvc.perform(get("/api/telegram/messages/search").param("q", "  "))
+                .andExpect(status().isBadRequest());
+    }
+
+    // GET /api/telegram/messages/stream es público y recibe por SSE cada noticia nueva
+    @Test
+    void streamMessages_recibeLasNoticiasNuevas() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/telegram/messages/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(post("/api/telegram/manual")
+                        .with(user("admin").roles("USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\": \"noticia en directo\"}"))
+                .andExpect(status().isOk());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!stream.getResponse().getContentAsString().contains("noticia en directo")
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(stream.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(stream.getResponse().getContentAsString())
+                .contains("event:message")
+                .contains("noticia en directo");
+    }
+
+    private void saveMessage(int messageId, LocalDateTime date) {
+        saveMessage(messageId, date, "Noticia " + messageId);
+    }
+
+    private void saveMessage(int messageId, LocalDateTime date, String text) {
+        TelegramMessage message = new TelegramMessage();
+        message.setMessageId(messageId);
+        message.setText(text);
+        message.setChannelUsername("@test_channel");
+        message.setMessageDate(date);
+        messageRepository.save(message);
+    }
+
     private ResultMatcher isNotUnauthorized() {
         return result -> assertThat(result.getResponse().getStatus())
                 .as("El endpoint no debe devolver 401 cuando hay autenticación")
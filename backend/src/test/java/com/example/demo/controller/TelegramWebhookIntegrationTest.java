@@ -0,0 +1,115 @@
+package com.example.demo.controller;
+
+import com.example.demo.repository.TelegramMessageRepository;
+import com.example.demo.repository.TelegramSyncStateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "telegram.webhook.secret=secreto-de-prueba")
+@AutoConfigureMockMvc
+class TelegramWebhookIntegrationTest {
+
+    private static final String SECRET = "secreto-de-prueba";
+
+    // Updates tal como los entrega Telegram, incluido uno repetido y uno que no es de canal
+    private static final List<String> RECORDED_UPDATES = List.of(
+            """
+            {"update_id": 900, "channel_post": {"message_id": 801, "date": 1704877200,
+             "chat": {"id": -100123, "type": "channel"}, "text": "Excursión al museo"}}
+            """,
+            """
+            {"update_id": 901, "channel_post": {"message_id": 802, "date": 1704877300,
+             "chat": {"id": -100123, "type": "channel"}, "text": "Reunión de la AFA"}}
+            """,
+            """
+            {"update_id": 901, "channel_post": {"message_id": 802, "date": 1704877300,
+             "chat": {"id": -100123, "type": "channel"}, "text": "Reunión de la AFA"}}
+            """,
+            """
+            {"update_id": 902, "message": {"message_id": 55, "date": 1704877400, "text": "privado"}}
+            """);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TelegramMessageRepository messageRepository;
+
+    @Autowired
+    private TelegramSyncStateRepository syncStateRepository;
+
+    @BeforeEach
+    void cleanDatabase() {
+        messageRepository.deleteAll();
+        syncStateRepository.deleteAll();
+    }
+
+    @Test
+    void webhook_conSecretoValido_respondeAlMomentoYPersisteEnSegundoPlano() throws Exception {
+        for (String update : RECORDED_UPDATES) {
+            mockMvc.perform(post("/api/telegram/webhook/" + SECRET)
+                            .header(TelegramController.WEBHOOK_SECRET_HEADER, SECRET)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(update))
+                    .andExpect(status().isOk());
+        }
+
+        awaitLastUpdateId(902L);
+        assertThat(messageRepository.count()).isEqualTo(2);
+        assertThat(messageRepository.findByMessageId(801)).isPresent();
+        assertThat(messageRepository.findByMessageId(802))
+                .hasValueSatisfying(message -> assertThat(message.getText()).isEqualTo("Reunión de la AFA"));
+    }
+
+    @Test
+    void webhook_sinCabeceraDeSecreto_devuelve403() throws Exception {
+        mockMvc.perform(post("/api/telegram/webhook/" + SECRET)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(RECORDED_UPDATES.get(0)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void webhook_conSecretoIncorrectoEnLaRuta_devuelve403() throws Exception {
+        mockMvc.perform(post("/api/telegram/webhook/otro-secreto")
+                        .header(TelegramController.WEBHOOK_SECRET_HEADER, SECRET)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(RECORDED_UPDATES.get(0)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void webhook_sinUpdateId_devuelve400() throws Exception {
+        mockMvc.perform(post("/api/telegram/webhook/" + SECRET)
+                        .header(TelegramController.WEBHOOK_SECRET_HEADER, SECRET)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"channel_post\": {}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // El último update se guarda en la misma transacción que sus mensajes
+    private void awaitLastUpdateId(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!hasLastUpdateId(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(hasLastUpdateId(expected)).isTrue();
+    }
+
+    private boolean hasLastUpdateId(long expected) {
+        return syncStateRepository.findById("test_token")
+                .map(state -> state.getLastUpdateId() == expected)
+                .orElse(false);
+    }
+}
@@ -37,7 +37,7 @@ class UserControllerIntegrationTest {
         userRepository.deleteAll();
     }
 
-    // CA-1.1.1: La contraseña persiste como BCrypt hash ($2a$)
+    // CA-1.1.1: La contraseña persiste como BCrypt hash ({bcrypt}$2a$)
     @Test
     void test_CA_1_1_1_passwordStoredAsBcryptHash() throws Exception {
         String requestBody = """
@@ -57,7 +57,7 @@ class UserControllerIntegrationTest {
                 .andExpect(status().isCreated());
 
         String storedPassword = userRepository.findAll().get(0).getPassword();
-        assertThat(storedPassword).startsWith("$2a$");
+        assertThat(storedPassword).startsWith("{bcrypt}$2a$");
         assertThat(storedPassword).isNotEqualTo("miPassword123");
     }
 
@@ -160,11 +160,47 @@ class UserControllerIntegrationTest {
         mockMvc.perform(get("/api/users")
                         .with(user("admin").roles("USER")))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].password").doesNotExist())
-                .andExpect(jsonPath("$[0].id").exists())
-                .andExpect(jsonPath("$[0].name").exists())
-                .andExpect(jsonPath("$[0].email").exists())
-                .andExpect(jsonPath("$[0].username").exists());
+                .andExpect(jsonPath("$.content[0].password").doesNotExist())
+                .andExpect(jsonPath("$.content[0].id").exists())
+                .andExpect(jsonPath("$.content[0].name").exists())
+                .andExpect(jsonPath("$.content[0].email").exists())
+                .andExpect(jsonPath("$.content[0].username").exists());
+    }
+
+    // GET /api/users pagina y devuelve el total de elementos
+    @Test
+    void getAllUsers_paginaYDevuelveTotal() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            User user = new User();
+            user.setName("Usuario " + i);
+            user.setUsername("pageuser" + i);
+            user.setEmail("page" + i + "@example.com");
+            user.setPassword("hash");
+            userRepository.save(user);
+        }
+
+        mockMvc.perform(get("/api/users")
+                        .param("page", "1")
+                        .param("size", "2")
+                        .param("sort", "username,desc")
+                        .with(user("admin").roles("USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].username").value("pageuser2"))
+                .andExpect(jsonPath("$.content[1].username").value("pageuser1"))
+                .andExpect(jsonPath("$.page").value(1))
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.totalElements").value(5))
+                .andExpect(jsonPath("$.totalPages").value(3));
+    }
+
+    // GET /api/users no permite ordenar por campos no públicos
+    @Test
+    void getAllUsers_ordenarPorPassword_devuelveBadRequest() throws Exception {
+        mockMvc.perform(get("/api/users")
+                        .param("sort", "password")
+                        .with(user("admin").roles("USER")))
+                .andExpect(status().isBadRequest());
     }
 
     // CA-1.2.2: GET /api/users/{id} no devuelve el campo password
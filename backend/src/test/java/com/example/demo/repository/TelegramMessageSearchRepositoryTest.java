@@ -0,0 +1,59 @@
+package com.example.demo.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TelegramMessageSearchRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TelegramMessageSearchRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        repository = new TelegramMessageSearchRepository();
+        ReflectionTestUtils.setField(repository, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(repository, "tsConfig", "spanish");
+    }
+
+    @Test
+    void verifyIndexedConfig_columnaConLaMismaConfiguracion_arranca() {
+        columnExpression("to_tsvector('spanish'::regconfig, COALESCE(text, ''::text))");
+
+        assertThatCode(repository::verifyIndexedConfig).doesNotThrowAnyException();
+    }
+
+    @Test
+    void verifyIndexedConfig_columnaConOtraConfiguracion_fallaAlArrancar() {
+        columnExpression("to_tsvector('simple'::regconfig, COALESCE(text, ''::text))");
+
+        assertThatThrownBy(repository::verifyIndexedConfig)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("ts-config=spanish")
+                .hasMessageContaining("(simple)");
+    }
+
+    @Test
+    void verifyIndexedConfig_sinColumna_fallaAlArrancar() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of());
+
+        assertThatThrownBy(repository::verifyIndexedConfig)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("text_search");
+    }
+
+    private void columnExpression(String expression) {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(expression));
+    }
+}
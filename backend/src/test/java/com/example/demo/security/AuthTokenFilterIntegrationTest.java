@@ -0,0 +1,82 @@
+package com.example.demo.security;
+
+import com.example.demo.model.Role;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthTokenFilterIntegrationTest {
+
+    @Nested
+    @SpringBootTest(properties = "jwt.stateless=true")
+    @AutoConfigureMockMvc
+    class ModoStateless {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private JwtUtils jwtUtils;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @BeforeEach
+        void cleanDatabase() {
+            userRepository.deleteAll();
+        }
+
+        @Test
+        void tokenConClaimDeRol_autenticaSinConsultarLaBaseDeDatos() throws Exception {
+            // El usuario no existe en la BD: solo los claims pueden autenticarlo
+            String token = jwtUtils.generateJwtToken("fantasma", 99L, Role.ADMIN);
+
+            mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        void tokenSinClaimDeRol_recurreALaBaseDeDatos() throws Exception {
+            String token = jwtUtils.generateJwtToken("fantasma");
+
+            mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+
+    @Nested
+    @SpringBootTest
+    @AutoConfigureMockMvc
+    class ModoPorDefecto {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private JwtUtils jwtUtils;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @BeforeEach
+        void cleanDatabase() {
+            userRepository.deleteAll();
+        }
+
+        @Test
+        void tokenConClaimDeRol_deUsuarioInexistente_esRechazado() throws Exception {
+            String token = jwtUtils.generateJwtToken("fantasma", 99L, Role.ADMIN);
+
+            mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.demo.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void encodeYMatches_delegaEnElEncoderYRegistraLatencia() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, 5000);
+
+        String hash = encoder.encode("miPassword123");
+
+        assertThat(hash).startsWith("$2a$04$");
+        assertThat(encoder.matches("miPassword123", hash)).isTrue();
+        assertThat(encoder.matches("otraPassword", hash)).isFalse();
+        assertThat(encoder.getHashCount()).isEqualTo(3);
+        assertThat(encoder.getTotalHashNanos()).isPositive();
+    }
+
+    @Test
+    void poolSaturado_fallaInmediatamenteSinEncolar() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(started, release), 1, 1, 5000);
+
+        // Un hash en ejecución y otro en cola llenan el pool
+        callers.submit(() -> encoder.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> encoder.encode("b"));
+        waitForQueueDepth(1);
+
+        assertThatThrownBy(() -> encoder.encode("c"))
+                .isInstanceOf(PasswordHashingOverloadedException.class);
+        assertThat(encoder.getRejectedCount()).isEqualTo(1);
+
+        release.countDown();
+    }
+
+    @Test
+    void esperaMayorQueElTimeout_devuelveSaturacion() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(started, release), 1, 4, 50);
+
+        assertThatThrownBy(() -> encoder.encode("a"))
+                .isInstanceOf(PasswordHashingOverloadedException.class);
+
+        release.countDown();
+    }
+
+    @Test
+    void esperaEstimadaMayorQueElTimeout_rechazaSinEncolar() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = blockingEncoder(started, release);
+        // Cada hash tarda ~300 ms salvo "lento", que ocupa el único hilo hasta liberarlo
+        encoder = new BoundedPasswordEncoder(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if ("lento".contentEquals(rawPassword)) {
+                    return blocking.encode(rawPassword);
+                }
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        }, 1, 8, 1000);
+        encoder.encode("calentamiento");
+
+        callers.submit(() -> encoder.encode("lento"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> encoder.encode("b"));
+        callers.submit(() -> encoder.encode("c"));
+        callers.submit(() -> encoder.encode("d"));
+        waitForQueueDepth(3);
+
+        // Cola con sitio, pero 3 hashes por delante más el propio (~1200 ms) no caben en el timeout
+        assertThatThrownBy(() -> encoder.encode("e"))
+                .isInstanceOf(PasswordHashingOverloadedException.class);
+        assertThat(encoder.getQueueDepth()).isEqualTo(3);
+        assertThat(encoder.getRejectedCount()).isEqualTo(1);
+
+        release.countDown();
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (encoder.getQueueDepth() < depth && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachedUserDetailsServiceTest {
+
+    @Mock
+    private UserDetailsServiceImpl delegate;
+
+    private CachedUserDetailsService cachedService;
+
+    @BeforeEach
+    void setUp() {
+        cachedService = new CachedUserDetailsService();
+        ReflectionTestUtils.setField(cachedService, "delegate", delegate);
+        ReflectionTestUtils.setField(cachedService, "maxSize", 100L);
+        ReflectionTestUtils.setField(cachedService, "ttlSeconds", 300L);
+        cachedService.init();
+    }
+
+    @Test
+    void segundaConsulta_seSirveDesdeCache() {
+        when(delegate.loadUserByUsername("user1")).thenReturn(buildDetails("user1", "ROLE_USER"));
+
+        cachedService.loadUserByUsername("user1");
+        UserDetails details = cachedService.loadUserByUsername("user1");
+
+        assertThat(details.getUsername()).isEqualTo("user1");
+        verify(delegate, times(1)).loadUserByUsername("user1");
+        assertThat(cachedService.stats().hitCount()).isEqualTo(1);
+        assertThat(cachedService.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void evict_fuerzaNuevaConsultaAlDelegado() {
+        when(delegate.loadUserByUsername("user1"))
+                .thenReturn(buildDetails("user1", "ROLE_USER"))
+                .thenReturn(buildDetails("user1", "ROLE_ADMIN"));
+
+        cachedService.loadUserByUsername("user1");
+        cachedService.evict("user1");
+        UserDetails details = cachedService.loadUserByUsername("user1");
+
+        assertThat(details.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+        verify(delegate, times(2)).loadUserByUsername("user1");
+    }
+
+    @Test
+    void borrarCredencialesDeLaCopia_noAfectaALaEntradaCacheada() {
+        when(delegate.loadUserByUsername("user1")).thenReturn(buildDetails("user1", "ROLE_USER"));
+
+        ((User) cachedService.loadUserByUsername("user1")).eraseCredentials();
+
+        assertThat(cachedService.loadUserByUsername("user1").getPassword()).isEqualTo("$2a$10$hash");
+    }
+
+    @Test
+    void usuarioInexistente_noSeCachea() {
+        when(delegate.loadUserByUsername("nadie")).thenThrow(new UsernameNotFoundException("Usuario no encontrado: nadie"));
+
+        assertThatThrownBy(() -> cachedService.loadUserByUsername("nadie"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> cachedService.loadUserByUsername("nadie"))
+                .isInstanceOf(UsernameNotFoundException.class);
+
+        verify(delegate, times(2)).loadUserByUsername("nadie");
+        assertThat(cachedService.size()).isZero();
+    }
+
+    private UserDetails buildDetails(String username, String authority) {
+        return new User(username, "$2a$10$hash", List.of(new SimpleGrantedAuthority(authority)));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.security;
+
+import com.example.demo.model.Role;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = "test_secret_key_long_enough_for_hs512_algorithm_minimum_512_bits_de_longitud_total";
+
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = buildJwtUtils(SECRET, 86400000L);
+    }
+
+    @Test
+    void parseAndValidate_tokenValido_devuelveClaimsConSubject() {
+        String token = jwtUtils.generateJwtToken("usuario1");
+
+        Claims claims = jwtUtils.parseAndValidate(token);
+
+        assertThat(claims).isNotNull();
+        assertThat(claims.getSubject()).isEqualTo("usuario1");
+    }
+
+    @Test
+    void parseAndValidate_tokenExpirado_devuelveNull() {
+        JwtUtils expiring = buildJwtUtils(SECRET, -1000L);
+        String token = expiring.generateJwtToken("usuario1");
+
+        assertThat(jwtUtils.parseAndValidate(token)).isNull();
+    }
+
+    @Test
+    void parseAndValidate_firmaDeOtraClave_devuelveNull() {
+        JwtUtils other = buildJwtUtils(SECRET + "_otra_clave", 86400000L);
+        String token = other.generateJwtToken("usuario1");
+
+        assertThat(jwtUtils.parseAndValidate(token)).isNull();
+    }
+
+    @Test
+    void parseAndValidate_tokenMalformado_devuelveNull() {
+        assertThat(jwtUtils.parseAndValidate("no-es-un-jwt")).isNull();
+        assertThat(jwtUtils.validateJwtToken("")).isFalse();
+    }
+
+    @Test
+    void generateJwtToken_conRolYId_incluyeClaimsFirmados() {
+        String token = jwtUtils.generateJwtToken("admin", 7L, Role.ADMIN);
+
+        Claims claims = jwtUtils.parseAndValidate(token);
+
+        assertThat(claims.get(JwtUtils.CLAIM_ROLE, String.class)).isEqualTo("ADMIN");
+        assertThat(claims.get(JwtUtils.CLAIM_USER_ID, Long.class)).isEqualTo(7L);
+    }
+
+    @Test
+    void metodosLegacy_siguenFuncionando() {
+        String token = jwtUtils.generateJwtToken("usuario2");
+
+        assertThat(jwtUtils.validateJwtToken(token)).isTrue();
+        assertThat(jwtUtils.getUsernameFromJwtToken(token)).isEqualTo("usuario2");
+    }
+
+    private JwtUtils buildJwtUtils(String secret, long expirationMs) {
+        JwtUtils utils = new JwtUtils();
+        ReflectionTestUtils.setField(utils, "jwtSecret", secret);
+        ReflectionTestUtils.setField(utils, "jwtExpirationMs", expirationMs);
+        utils.init();
+        return utils;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordEncodersTest {
+
+    @Test
+    void encode_usaPrefijoDelAlgoritmoConfigurado() {
+        PasswordEncoder encoder = PasswordEncoders.createDelegating(PasswordEncoders.BCRYPT, 4);
+
+        String hash = encoder.encode("miPassword123");
+
+        assertThat(hash).startsWith("{bcrypt}$2a$04$");
+        assertThat(encoder.matches("miPassword123", hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void hashLegacySinPrefijo_seVerificaYPideUpgrade() {
+        PasswordEncoder encoder = PasswordEncoders.createDelegating(PasswordEncoders.BCRYPT, 4);
+        String legacy = new BCryptPasswordEncoder(4).encode("miPassword123");
+
+        assertThat(encoder.matches("miPassword123", legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    void costeDistintoAlConfigurado_pideUpgradeTantoAlSubirComoAlBajar() {
+        PasswordEncoder encoder = PasswordEncoders.createDelegating(PasswordEncoders.BCRYPT, 6);
+
+        assertThat(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode("x"))).isTrue();
+        assertThat(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(8).encode("x"))).isTrue();
+        assertThat(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(6).encode("x"))).isFalse();
+    }
+
+    @Test
+    void cambioDeAlgoritmo_verificaLosHashesAnterioresYPideUpgrade() {
+        String bcryptHash = PasswordEncoders.createDelegating(PasswordEncoders.BCRYPT, 4).encode("miPassword123");
+        PasswordEncoder pbkdf2 = PasswordEncoders.createDelegating(PasswordEncoders.PBKDF2, 4);
+
+        assertThat(pbkdf2.matches("miPassword123", bcryptHash)).isTrue();
+        assertThat(pbkdf2.upgradeEncoding(bcryptHash)).isTrue();
+        assertThat(pbkdf2.encode("miPassword123")).startsWith("{pbkdf2}");
+    }
+
+    @Test
+    void algoritmoDesconocido_fallaAlArrancar() {
+        assertThatThrownBy(() -> PasswordEncoders.createDelegating("md5", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
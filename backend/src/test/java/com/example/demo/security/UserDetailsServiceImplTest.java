@@ -13,6 +13,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -58,6 +59,20 @@ class UserDetailsServiceImplTest {
         assertThat(details.getAuthorities()).isNotEmpty();
     }
 
+    @Test
+    void updatePassword_persisteElNuevoHashYLoDevuelve() {
+        User user = buildUser("user1", Role.USER);
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user));
+        UserDetails current = userDetailsService.loadUserByUsername("user1");
+
+        UserDetails updated = userDetailsService.updatePassword(current, "{bcrypt}$2a$12$nuevo");
+
+        verify(userRepository).save(user);
+        assertThat(user.getPassword()).isEqualTo("{bcrypt}$2a$12$nuevo");
+        assertThat(updated.getPassword()).isEqualTo("{bcrypt}$2a$12$nuevo");
+        assertThat(updated.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
     private User buildUser(String username, Role role) {
         User user = new User();
         user.setUsername(username);
@@ -0,0 +1,74 @@
+package com.example.demo.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidatedTokenCacheTest {
+
+    private final ValidatedTokenCache cache = new ValidatedTokenCache(100);
+
+    @Test
+    void tokenVigente_seSirveDesdeCache() {
+        Claims claims = claimsExpiringIn(60_000);
+
+        cache.put("token-a", claims);
+
+        assertThat(cache.get("token-a")).isSameAs(claims);
+        assertThat(cache.get("token-b")).isNull();
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void tokenYaExpirado_noSeCachea() {
+        cache.put("token-a", claimsExpiringIn(-1_000));
+
+        assertThat(cache.get("token-a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void tokenQueExpiraDentroDeLaCache_nuncaSeSirve() throws InterruptedException {
+        cache.put("token-a", claimsExpiringIn(50));
+
+        Thread.sleep(100);
+
+        assertThat(cache.get("token-a")).isNull();
+    }
+
+    @Test
+    void tokenSinExpiracion_noSeCachea() {
+        cache.put("token-a", Jwts.claims().setSubject("user1"));
+
+        assertThat(cache.get("token-a")).isNull();
+    }
+
+    @Test
+    void jwtUtils_conCache_reutilizaLosClaimsVerificados() {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret",
+                "test_secret_key_long_enough_for_hs512_algorithm_minimum_512_bits_de_longitud_total");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60_000L);
+        ReflectionTestUtils.setField(jwtUtils, "tokenCacheMaxSize", 10L);
+        jwtUtils.init();
+        String token = jwtUtils.generateJwtToken("user1");
+
+        Claims first = jwtUtils.parseAndValidate(token);
+        Claims second = jwtUtils.parseAndValidate(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(jwtUtils.getTokenCache().stats().hitCount()).isEqualTo(1);
+    }
+
+    private Claims claimsExpiringIn(long millis) {
+        return Jwts.claims()
+                .setSubject("user1")
+                .setExpiration(new Date(System.currentTimeMillis() + millis));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.service;
+
+import com.example.demo.model.TelegramMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NewsFeedCacheTest {
+
+    private NewsFeedCache feedCache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        feedCache = new NewsFeedCache();
+        ReflectionTestUtils.setField(feedCache, "objectMapper", new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(feedCache, "maxSize", 10L);
+        ReflectionTestUtils.setField(feedCache, "ttlSeconds", 60L);
+        feedCache.init();
+    }
+
+    @Test
+    void segundaLectura_noConsultaElRepositorio() {
+        feedCache.getLatest("@canal", 2, () -> load("uno"));
+        NewsFeedCache.CachedPage page = feedCache.getLatest("@canal", 2, () -> load("dos"));
+
+        assertThat(new String(page.body(), StandardCharsets.UTF_8)).contains("uno");
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(feedCache.stats().hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void invalidate_fuerzaUnaNuevaCarga() {
+        feedCache.getLatest("@canal", 2, () -> load("uno"));
+        feedCache.invalidate();
+        NewsFeedCache.CachedPage page = feedCache.getLatest("@canal", 2, () -> load("dos"));
+
+        assertThat(new String(page.body(), StandardCharsets.UTF_8)).contains("dos");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void cargaConcurrenteConUnaEscritura_noSeSirveObsoleta() {
+        // La escritura llega mientras la carga está leyendo de la base de datos
+        NewsFeedCache.CachedPage page = feedCache.getLatest("@canal", 2, () -> {
+            if (loads.get() > 0) {
+                return load("actual");
+            }
+            List<TelegramMessage> stale = load("obsoleta");
+            feedCache.invalidate();
+            return stale;
+        });
+
+        assertThat(new String(page.body(), StandardCharsets.UTF_8)).contains("actual");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void paginaCompleta_incluyeCursorSiguiente() {
+        NewsFeedCache.CachedPage full = feedCache.getLatest("@canal", 1, () -> load("uno"));
+        NewsFeedCache.CachedPage partial = feedCache.getLatest("@canal", 5, () -> load("uno"));
+
+        assertThat(full.nextCursor()).isEqualTo("2024-01-10T09:00,1");
+        assertThat(partial.nextCursor()).isNull();
+    }
+
+    private List<TelegramMessage> load(String text) {
+        loads.incrementAndGet();
+        TelegramMessage message = new TelegramMessage();
+        message.setId(1L);
+        message.setMessageId(1);
+        message.setText(text);
+        message.setMessageDate(LocalDateTime.of(2024, 1, 10, 9, 0));
+        return List.of(message);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.PageResponse;
+import com.example.demo.model.TelegramMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "telegram.search.in-memory-index=true")
+class NewsSearchIndexIntegrationTest {
+
+    @Autowired
+    private TelegramService telegramService;
+
+    @Autowired
+    private NewsSearchIndex searchIndex;
+
+    @Test
+    void searchMessages_conIndiceEnMemoria_incluyeLosMensajesRecienGuardados() {
+        assertThat(searchIndex.isReady()).isTrue();
+        TelegramMessage saved = telegramService.createManualMessage("Festa de fi de curs al pati");
+
+        PageResponse<TelegramMessage> result = telegramService.searchMessages("festa pati", 0, 20);
+
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        assertThat(result.getContent()).extracting(TelegramMessage::getId).containsExactly(saved.getId());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.service;
+
+import com.example.demo.model.TelegramMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NewsSearchIndexTest {
+
+    private NewsSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NewsSearchIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.add(message(1, "Reunió de famílies al col·legi"));
+        index.add(message(2, "Reunión de familias: excursión al museo"));
+        index.add(message(3, "L'escola tanca per Sant Joan"));
+        index.add(message(4, "Excursión a la granja, traed almuerzo"));
+    }
+
+    @Test
+    void tokenize_quitaAcentosYSeparaApostrofos() {
+        assertThat(NewsSearchIndex.tokenize("L'Escola d'Educació al Col·legi, Niñ@s ÇA"))
+                .containsExactly("escola", "educacio", "al", "collegi", "nin", "ca");
+    }
+
+    @Test
+    void search_sinAcentosNiMayusculas_encuentraLasVariantes() {
+        assertThat(index.search("COLLEGI", 0, 10).ids()).containsExactly(1);
+        assertThat(index.search("excursion", 0, 10).ids()).containsExactly(4, 2);
+    }
+
+    @Test
+    void search_variosTerminos_exigeTodos() {
+        NewsSearchIndex.Hits hits = index.search("excursión museo", 0, 10);
+
+        assertThat(hits.total()).isEqualTo(1);
+        assertThat(hits.ids()).containsExactly(2);
+        assertThat(index.search("excursión inexistente", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void search_paginaDelMasRecienteAlMasAntiguo() {
+        index.add(message(5, "Otra excursión"));
+
+        assertThat(index.search("excursion", 0, 2).ids()).containsExactly(5, 4);
+        assertThat(index.search("excursion", 2, 2).ids()).containsExactly(2);
+        assertThat(index.search("excursion", 4, 2).ids()).isEmpty();
+        assertThat(index.search("excursion", 2, 2).total()).isEqualTo(3);
+    }
+
+    @Test
+    void add_mismoMensajeDosVecesOFueraDeOrden_noDuplica() {
+        index.add(message(2, "museo"));
+        index.add(message(0, "museo antiguo"));
+
+        assertThat(index.search("museo", 0, 10).ids()).containsExactly(2, 0);
+    }
+
+    private TelegramMessage message(long id, String text) {
+        TelegramMessage message = new TelegramMessage();
+        message.setId(id);
+        message.setMessageId((int) id);
+        message.setText(text);
+        message.setChannelUsername("@test_channel");
+        message.setMessageDate(LocalDateTime.of(2024, 1, 10, 9, 0).plusDays(id));
+        return message;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.demo.service;
+
+import com.example.demo.model.TelegramMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NewsStreamHubTest {
+
+    private NewsStreamHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new NewsStreamHub();
+        ReflectionTestUtils.setField(hub, "maxClients", 2);
+        ReflectionTestUtils.setField(hub, "bufferSize", 2);
+        ReflectionTestUtils.setField(hub, "heartbeatSeconds", 3600L);
+        ReflectionTestUtils.setField(hub, "emitterTimeoutMs", 60000L);
+        ReflectionTestUtils.setField(hub, "senderThreads", 2);
+        hub.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void publish_entregaCadaMensajeATodosLosClientes() throws Exception {
+        RecordingEmitter first = new RecordingEmitter(null);
+        RecordingEmitter second = new RecordingEmitter(null);
+        hub.register(first);
+        hub.register(second);
+
+        hub.publish(List.of(message(1), message(2)));
+
+        assertThat(first.awaitSent(2)).isTrue();
+        assertThat(second.awaitSent(2)).isTrue();
+        assertThat(hub.getDroppedCount()).isZero();
+        // Mismo contenido en ambos clientes y cada evento cerrado por una única línea en blanco
+        assertThat(second.sent).isEqualTo(first.sent);
+        assertThat(first.sent.get(0)).startsWith("id:").contains("event:message\ndata:").endsWith("\n\n")
+                .doesNotEndWith("\n\n\n");
+    }
+
+    @Test
+    void heartbeat_cadaClienteRecibeUnUnicoComentario() throws Exception {
+        RecordingEmitter first = new RecordingEmitter(null);
+        RecordingEmitter second = new RecordingEmitter(null);
+        hub.register(first);
+        hub.register(second);
+
+        ReflectionTestUtils.invokeMethod(hub, "broadcast", SseEmitter.event().comment("ping"));
+
+        assertThat(first.awaitSent(1)).isTrue();
+        assertThat(second.awaitSent(1)).isTrue();
+        assertThat(first.sent).containsExactly(":ping\n\n");
+        assertThat(second.sent).containsExactly(":ping\n\n");
+    }
+
+    @Test
+    void clienteLento_seDesconectaSinFrenarAlResto() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(blocked);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        hub.register(slow);
+        hub.register(fast);
+
+        // El primer envío al lento se queda bloqueado; su buffer (2) se llena con los siguientes
+        // mientras el cliente rápido los va recibiendo
+        for (int i = 1; i <= 5; i++) {
+            hub.publish(List.of(message(i)));
+            assertThat(fast.awaitSent(i)).isTrue();
+        }
+
+        assertThat(hub.getDroppedCount()).isEqualTo(1);
+        assertThat(hub.getSubscriberCount()).isEqualTo(1);
+        blocked.countDown();
+    }
+
+    @Test
+    void subscribe_conElMaximoDeClientes_devuelveNull() {
+        assertThat(hub.subscribe()).isNotNull();
+        assertThat(hub.subscribe()).isNotNull();
+        assertThat(hub.subscribe()).isNull();
+    }
+
+    private TelegramMessage message(int id) {
+        TelegramMessage message = new TelegramMessage();
+        message.setId((long) id);
+        message.setMessageId(id);
+        message.setText("mensaje " + id);
+        message.setMessageDate(LocalDateTime.of(2024, 1, 10, 9, 0).plusMinutes(id));
+        return message;
+    }
+
+    // Emisor que registra los eventos ya construidos (la salida real de build()) en lugar de escribir
+    // en una respuesta HTTP; los objetos de data se representan con su toString
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch blockUntil;
+
+        RecordingEmitter(CountDownLatch blockUntil) {
+            this.blockUntil = blockUntil;
+        }
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) throws IOException {
+            if (blockUntil != null) {
+                try {
+                    blockUntil.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StringBuilder frame = new StringBuilder();
+            items.forEach(item -> frame.append(item.getData()));
+            sent.add(frame.toString());
+        }
+
+        boolean awaitSent(int expected) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (sent.size() < expected && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            return sent.size() == expected;
+        }
+    }
+}
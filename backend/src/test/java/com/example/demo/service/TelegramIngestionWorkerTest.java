@@ -0,0 +1,102 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.IngestResult;
+import com.example.demo.dto.IngestionStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class TelegramIngestionWorkerTest {
+
+    private TelegramService telegramService;
+    private TelegramWebhookQueue webhookQueue;
+    private TelegramIngestionWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        telegramService = mock(TelegramService.class);
+        worker = new TelegramIngestionWorker();
+        ReflectionTestUtils.setField(worker, "telegramService", telegramService);
+        webhookQueue = mock(TelegramWebhookQueue.class);
+        ReflectionTestUtils.setField(worker, "webhookQueue", webhookQueue);
+        ReflectionTestUtils.setField(worker, "pollTimeoutSeconds", 25);
+        ReflectionTestUtils.setField(worker, "initialBackoffMs", 10L);
+        ReflectionTestUtils.setField(worker, "maxBackoffMs", 80L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.stop();
+    }
+
+    @Test
+    void requestSync_conUnaSincronizacionEnCurso_seUneAElla() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(telegramService.pollUpdates(0)).thenReturn(Mono.fromCallable(() -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new IngestResult(2, 0, List.of(1, 2));
+        }).subscribeOn(Schedulers.boundedElastic()));
+
+        IngestionStatus first = worker.requestSync();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        IngestionStatus second = worker.requestSync();
+        release.countDown();
+
+        assertThat(first.isCoalesced()).isFalse();
+        assertThat(second.isCoalesced()).isTrue();
+        verify(telegramService, after(200).times(1)).pollUpdates(0);
+        assertThat(worker.status().getTotalInserted()).isEqualTo(2);
+        assertThat(worker.status().getState()).isEqualTo("IDLE");
+    }
+
+    @Test
+    void requestSync_conWebhookActivo_devuelveElEstadoSinLlamarAGetUpdates() {
+        when(webhookQueue.isEnabled()).thenReturn(true);
+
+        IngestionStatus status = worker.requestSync();
+
+        assertThat(status.getState()).isEqualTo("IDLE");
+        assertThat(status.isCoalesced()).isFalse();
+        verify(telegramService, after(200).never()).pollUpdates(anyInt());
+    }
+
+    @Test
+    void longPolling_trasErroresReintentaConBackoffYVuelveANormal() {
+        ReflectionTestUtils.setField(worker, "longPolling", true);
+        when(telegramService.pollUpdates(anyInt()))
+                .thenReturn(Mono.error(new IllegalStateException("caída 1")))
+                .thenReturn(Mono.error(new IllegalStateException("caída 2")))
+                .thenReturn(Mono.just(IngestResult.empty()))
+                // Deja el bucle aparcado en una llamada de long polling que no termina
+                .thenReturn(Mono.never());
+
+        worker.start();
+
+        verify(telegramService, timeout(2000).times(4)).pollUpdates(25);
+        IngestionStatus status = worker.status();
+        assertThat(status.getConsecutiveFailures()).isZero();
+        assertThat(status.getLastError()).isNull();
+        assertThat(status.getLastSuccessAt()).isNotNull();
+        assertThat(status.getState()).isEqualTo("POLLING");
+    }
+
+    @Test
+    void backoff_creceExponencialmenteConTope() {
+        assertThat(worker.backoffMs(1)).isBetween(8L, 12L);
+        assertThat(worker.backoffMs(3)).isBetween(32L, 48L);
+        assertThat(worker.backoffMs(30)).isBetween(64L, 96L);
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.demo.service;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.demo.dto.IngestResult;
+import com.example.demo.model.TelegramMessage;
+import com.example.demo.repository.TelegramMessageRepository;
+import com.example.demo.repository.TelegramSyncStateRepository;
+import com.sun.net.httpserver.HttpServer;
+import io.netty.util.IllegalReferenceCountException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class TelegramServiceIntegrationTest {
+
+    // Servidor local que sustituye a api.telegram.org
+    private static final HttpServer telegramStub;
+    private static final Queue<String> responses = new ConcurrentLinkedQueue<>();
+    private static final List<String> requestedQueries = new CopyOnWriteArrayList<>();
+    private static final Queue<Integer> statusCodes = new ConcurrentLinkedQueue<>();
+
+    static {
+        try {
+            telegramStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        telegramStub.createContext("/", exchange -> {
+            requestedQueries.add(exchange.getRequestURI().getQuery());
+            String body = responses.poll();
+            byte[] bytes = (body != null ? body : "{\"ok\":true,\"result\":[]}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            Integer status = statusCodes.poll();
+            exchange.sendResponseHeaders(status != null ? status : 200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        telegramStub.start();
+    }
+
+    @DynamicPropertySource
+    static void telegramProperties(DynamicPropertyRegistry registry) {
+        registry.add("telegram.api.base-url", () -> "http://localhost:" + telegramStub.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        telegramStub.stop(0);
+    }
+
+    @Autowired
+    private TelegramService telegramService;
+
+    @Autowired
+    private TelegramMessageRepository messageRepository;
+
+    @Autowired
+    private TelegramSyncStateRepository syncStateRepository;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository.deleteAll();
+        syncStateRepository.deleteAll();
+        responses.clear();
+        requestedQueries.clear();
+        statusCodes.clear();
+    }
+
+    @Test
+    void pollUpdates_guardaElOffsetYSoloPideUpdatesNuevos() {
+        responses.add("""
+                {"ok": true, "result": [
+                  {"update_id": 10, "channel_post": {"message_id": 501, "date": 1704877200, "text": "Reunión AFA"}},
+                  {"update_id": 11, "message": {"message_id": 77, "date": 1704877300, "text": "privado"}}
+                ]}
+                """);
+
+        telegramService.pollUpdates(0).block();
+        telegramService.pollUpdates(0).block();
+
+        assertThat(requestedQueries).hasSize(2);
+        assertThat(requestedQueries.get(0)).contains("offset=0").contains("limit=100").contains("timeout=0");
+        assertThat(requestedQueries.get(1)).contains("offset=12");
+        assertThat(syncStateRepository.findById("test_token"))
+                .hasValueSatisfying(state -> assertThat(state.getLastUpdateId()).isEqualTo(11L));
+        assertThat(messageRepository.findByMessageId(501)).isPresent();
+        assertThat(messageRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void pollUpdates_loteConDuplicados_insertaSoloLosNuevos() {
+        TelegramMessage existing = new TelegramMessage();
+        existing.setMessageId(601);
+        existing.setText("ya guardado");
+        existing.setChannelUsername("test_channel");
+        existing.setMessageDate(LocalDateTime.now());
+        messageRepository.save(existing);
+
+        responses.add("""
+                {"ok": true, "result": [
+                  {"update_id": 20, "channel_post": {"message_id": 601, "date": 1704877200, "text": "repetido en BD"}},
+                  {"update_id": 21, "channel_post": {"message_id": 602, "date": 1704877300, "text": "nuevo"}},
+                  {"update_id": 22, "edited_channel_post": {"message_id": 602, "date": 1704877300, "text": "editado"}},
+                  {"update_id": 23, "channel_post": {"message_id": 602, "date": 1704877300, "text": "repetido en lote"}}
+                ]}
+                """);
+
+        IngestResult result = telegramService.pollUpdates(0).block();
+
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getSkipped()).isEqualTo(2);
+        assertThat(result.getInsertedMessageIds()).containsExactly(602);
+        assertThat(messageRepository.count()).isEqualTo(2);
+        assertThat(messageRepository.findByMessageId(601))
+                .hasValueSatisfying(message -> assertThat(message.getText()).isEqualTo("ya guardado"));
+        assertThat(messageRepository.findByMessageId(602))
+                .hasValueSatisfying(message -> {
+                    assertThat(message.getText()).isEqualTo("nuevo");
+                    assertThat(message.getCreatedAt()).isNotNull();
+                });
+    }
+
+    @Test
+    void pollUpdates_errorTransitorio_seReintentaConJitter() {
+        statusCodes.add(502);
+        responses.add("{\"ok\": false, \"description\": \"Bad Gateway\"}");
+        responses.add("""
+                {"ok": true, "result": [
+                  {"update_id": 30, "channel_post": {"message_id": 701, "date": 1704877200, "text": "tras el 502"}}
+                ]}
+                """);
+
+        IngestResult result = telegramService.pollUpdates(0).block();
+
+        assertThat(requestedQueries).hasSize(2);
+        assertThat(result.getInserted()).isEqualTo(1);
+    }
+
+    @Test
+    void pollUpdates_conflicto409_noSeReintentaYPropagaElError() {
+        statusCodes.add(409);
+        responses.add("{\"ok\": false, \"error_code\": 409, \"description\": \"Conflict\"}");
+
+        assertThatThrownBy(() -> telegramService.pollUpdates(0).block())
+                .isInstanceOf(WebClientResponseException.Conflict.class);
+        assertThat(requestedQueries).hasSize(1);
+        assertThat(syncStateRepository.findById("test_token")).isEmpty();
+    }
+
+    @Test
+    void pollUpdates_respuestaMayorQueElTope_fallaSinReintentarNiGuardar() throws InterruptedException {
+        responses.add("""
+                {"ok": true, "result": [
+                  {"update_id": 40, "channel_post": {"message_id": 801, "date": 1704877200, "text": "%s"}}
+                ]}
+                """.formatted("x".repeat(2048)));
+        ReflectionTestUtils.setField(telegramService, "maxResponseBytes", 1024);
+        // Un buffer liberado dos veces no rompe la llamada: reactor-netty solo lo registra en el log
+        ListAppender<ILoggingEvent> nettyLog = new ListAppender<>();
+        Logger nettyLogger = (Logger) LoggerFactory.getLogger("reactor.netty");
+        nettyLog.start();
+        nettyLogger.addAppender(nettyLog);
+        try {
+            assertThatThrownBy(() -> telegramService.pollUpdates(0).block())
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasCauseInstanceOf(DataBufferLimitException.class);
+            // El resto de la respuesta llega al event loop después de cancelar
+            Thread.sleep(200);
+        } finally {
+            nettyLogger.detachAppender(nettyLog);
+            ReflectionTestUtils.setField(telegramService, "maxResponseBytes", 8 * 1024 * 1024);
+        }
+        assertThat(nettyLog.list)
+                .noneMatch(event -> event.getThrowableProxy() != null && event.getThrowableProxy().getClassName()
+                        .equals(IllegalReferenceCountException.class.getName()))
+                .noneMatch(event -> event.getFormattedMessage().contains(IllegalReferenceCountException.class.getName()));
+        assertThat(requestedQueries).hasSize(1);
+        assertThat(messageRepository.findByMessageId(801)).isEmpty();
+        assertThat(syncStateRepository.findById("test_token")).isEmpty();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TelegramUpdate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TelegramUpdateReaderTest {
+
+    private final TelegramUpdateReader reader = new TelegramUpdateReader(new ObjectMapper());
+
+    @Test
+    void read_entregaCadaUpdateTipadoEIgnoraCamposDesconocidos() throws Exception {
+        List<TelegramUpdate> updates = new ArrayList<>();
+
+        int count = reader.read(stream("""
+                {"ok": true, "result": [
+                  {"update_id": 4503599627370495, "channel_post": {"message_id": 1, "date": 1704877200,
+                   "chat": {"id": -1001234567890, "title": "AFA"}, "text": "Hola"}},
+                  {"update_id": 12, "edited_message": {"message_id": 2}}
+                ], "extra": {"anidado": [1, 2, 3]}}
+                """), updates::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(updates.get(0).updateId()).isEqualTo(4503599627370495L);
+        assertThat(updates.get(0).channelPost().text()).isEqualTo("Hola");
+        assertThat(updates.get(0).channelPost().date()).isEqualTo(1704877200L);
+        assertThat(updates.get(1).channelPost()).isNull();
+    }
+
+    @Test
+    void read_respuestaConOkFalse_lanzaExcepcionConDescripcion() {
+        assertThatThrownBy(() -> reader.read(stream("""
+                {"ok": false, "error_code": 409, "description": "Conflict: terminated by other getUpdates request"}
+                """), update -> { }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Conflict");
+    }
+
+    private ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
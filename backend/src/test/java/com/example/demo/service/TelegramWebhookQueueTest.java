@@ -0,0 +1,116 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.IngestResult;
+import com.example.demo.dto.TelegramUpdate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TelegramWebhookQueueTest {
+
+    private TelegramService telegramService;
+    private TelegramWebhookQueue queue;
+
+    private final List<TelegramUpdate> batch = List.of(update(41), update(42));
+
+    @BeforeEach
+    void setUp() {
+        telegramService = mock(TelegramService.class);
+        queue = new TelegramWebhookQueue();
+        ReflectionTestUtils.setField(queue, "telegramService", telegramService);
+        ReflectionTestUtils.setField(queue, "maxAttempts", 3);
+        ReflectionTestUtils.setField(queue, "initialBackoffMs", 1L);
+        ReflectionTestUtils.setField(queue, "maxBackoffMs", 4L);
+    }
+
+    @Test
+    void shutdown_dejaDeAceptarYGuardaLoPendiente() throws Exception {
+        CountDownLatch ingesting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(telegramService.ingestUpdates(anyList())).thenAnswer(invocation -> {
+            ingesting.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return IngestResult.empty();
+        });
+        start(1);
+
+        // El primero se está guardando y los otros dos esperan en la cola cuando empieza el cierre
+        assertThat(queue.offer(update(41))).isTrue();
+        assertThat(ingesting.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queue.offer(update(42))).isTrue();
+        assertThat(queue.offer(update(43))).isTrue();
+        CompletableFuture.runAsync(release::countDown, CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+
+        queue.shutdown();
+
+        assertThat(queue.offer(update(44))).isFalse();
+        assertThat(queue.getProcessedCount()).isEqualTo(3);
+        assertThat(queue.getDroppedCount()).isZero();
+        assertThat(queue.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void shutdown_loQueNoSeGuardaEnElPlazoSeCuentaComoDescartado() throws Exception {
+        when(telegramService.ingestUpdates(anyList())).thenThrow(new IllegalStateException("base de datos caída"));
+        ReflectionTestUtils.setField(queue, "maxAttempts", 100);
+        ReflectionTestUtils.setField(queue, "initialBackoffMs", 50L);
+        ReflectionTestUtils.setField(queue, "maxBackoffMs", 50L);
+        ReflectionTestUtils.setField(queue, "shutdownTimeoutMs", 100L);
+        start(1);
+
+        // Uno queda en los reintentos del hilo y el otro en la cola
+        queue.offer(update(41));
+        verify(telegramService, timeout(2000)).ingestUpdates(List.of(update(41)));
+        queue.offer(update(42));
+
+        queue.shutdown();
+
+        assertThat(queue.getProcessedCount()).isZero();
+        assertThat(queue.getDroppedCount()).isEqualTo(2);
+        assertThat(queue.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void errorTransitorio_seReintentaElLoteSinPerderlo() throws Exception {
+        when(telegramService.ingestUpdates(anyList()))
+                .thenThrow(new IllegalStateException("conexión perdida"))
+                .thenReturn(IngestResult.empty());
+
+        queue.persist(batch);
+
+        verify(telegramService, times(2)).ingestUpdates(batch);
+        assertThat(queue.getProcessedCount()).isEqualTo(2);
+        assertThat(queue.getDroppedCount()).isZero();
+    }
+
+    @Test
+    void fallosPersistentes_descartaTrasElMaximoDeIntentosYLoCuenta() throws Exception {
+        when(telegramService.ingestUpdates(anyList())).thenThrow(new IllegalStateException("base de datos caída"));
+
+        queue.persist(batch);
+
+        verify(telegramService, times(3)).ingestUpdates(batch);
+        assertThat(queue.getProcessedCount()).isZero();
+        assertThat(queue.getDroppedCount()).isEqualTo(2);
+    }
+
+    private void start(int batchSize) {
+        ReflectionTestUtils.setField(queue, "secret", "secreto");
+        ReflectionTestUtils.setField(queue, "queueCapacity", 10);
+        ReflectionTestUtils.setField(queue, "batchSize", batchSize);
+        queue.init();
+    }
+
+    private static TelegramUpdate update(long updateId) {
+        return new TelegramUpdate(updateId, null);
+    }
+}
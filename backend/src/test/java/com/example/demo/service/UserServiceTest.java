@@ -1,8 +1,11 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.PageResponse;
 import com.example.demo.dto.UserResponseDTO;
+import com.example.demo.model.Role;
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.CachedUserDetailsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,9 +13,13 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -29,6 +36,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private CachedUserDetailsService userDetailsCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -119,14 +129,41 @@ class UserServiceTest {
         assertThat(result.getPhone()).isEqualTo("123456789");
     }
 
-    // CA-1.2.5: getAllUsers devuelve lista de DTOs
+    // CA-1.2.5: getUsers devuelve una página de DTOs (proyección sin contraseña)
+    @Test
+    void test_CA_1_2_5_getUsersReturnsDTOPage() {
+        PageRequest pageable = PageRequest.of(0, 20, Sort.by("id"));
+        UserResponseDTO dto = new UserResponseDTO(1L, "Test User", "test@example.com", "123456789",
+                "testuser", null, Role.USER);
+        when(userRepository.findAllAsResponseDTO(pageable)).thenReturn(new PageImpl<>(List.of(dto), pageable, 1));
+
+        PageResponse<UserResponseDTO> result = userService.getUsers(pageable);
+
+        assertThat(result.getContent()).containsExactly(dto);
+        assertThat(result.getTotalElements()).isEqualTo(1);
+    }
+
+    // La actualización invalida la entrada de la caché de UserDetails
+    @Test
+    void updateUser_invalidaCacheDeUserDetails() {
+        validUser.setId(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(validUser));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        userService.updateUser(1L, validUser);
+
+        verify(userDetailsCache).evict("testuser");
+    }
+
+    // La eliminación invalida la entrada de la caché de UserDetails
     @Test
-    void test_CA_1_2_5_getAllUsersReturnsDTOList() {
-        when(userRepository.findAll()).thenReturn(List.of(validUser));
+    void deleteUser_invalidaCacheDeUserDetails() {
+        validUser.setId(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(validUser));
 
-        List<UserResponseDTO> results = userService.getAllUsers();
+        userService.deleteUser(1L);
 
-        assertThat(results).hasSize(1);
-        assertThat(results.get(0).getEmail()).isEqualTo("test@example.com");
+        verify(userRepository).delete(validUser);
+        verify(userDetailsCache).evict("testuser");
     }
 }
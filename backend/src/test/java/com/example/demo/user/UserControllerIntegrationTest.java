@@ -48,8 +48,8 @@ class UserControllerIntegrationTest {
     void test_CA_2_1_5_getUsers_devuelveRole_sinPassword() throws Exception {
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].role").value("ADMIN"))
-                .andExpect(jsonPath("$[0].password").doesNotExist());
+                .andExpect(jsonPath("$.content[0].role").value("ADMIN"))
+                .andExpect(jsonPath("$.content[0].password").doesNotExist());
     }
 
     @Test
@@ -14,6 +14,7 @@ function AppContent() {
   const [view, setView] = useState('login'); // 'login', 'signup', 'users', 'news'
   const [currentView, setCurrentView] = useState('users');
   const [users, setUsers] = useState([]);
+  const [userPage, setUserPage] = useState({ page: 0, totalPages: 0, totalElements: 0 });
   const [selectedUser, setSelectedUser] = useState(null);
   const [showForm, setShowForm] = useState(false);
   const [loading, setLoading] = useState(false);
@@ -25,12 +26,17 @@ function AppContent() {
     }
   }, [isAuthenticated, currentView]);
 
-  const loadUsers = async () => {
+  const loadUsers = async (page = userPage.page) => {
     try {
       setLoading(true);
       setError(null);
-      const data = await userService.getAllUsers();
-      setUsers(data);
+      let data = await userService.getUsers(page);
+      // Tras borrar el último usuario de la última página, se muestra la anterior
+      if (data.content.length === 0 && page > 0) {
+        data = await userService.getUsers(data.totalPages > 0 ? data.totalPages - 1 : 0);
+      }
+      setUsers(data.content);
+      setUserPage({ page: data.page, totalPages: data.totalPages, totalElements: data.totalElements });
     } catch (err) {
       setError('Error al cargar los usuarios: ' + err.message);
       console.error('Error:', err);
@@ -140,6 +146,10 @@ function AppContent() {
                 </button>
                 <UserList
                   users={users}
+                  page={userPage.page}
+                  totalPages={userPage.totalPages}
+                  totalElements={userPage.totalElements}
+                  onPageChange={loadUsers}
                   onEdit={handleEditUser}
                   onDelete={handleDeleteUser}
                 />
@@ -12,6 +12,15 @@ const News = () => {
     loadMessages();
   }, []);
 
+  // Las noticias nuevas llegan por SSE; se evitan duplicados si ya se cargaron con la lista
+  useEffect(() => {
+    return telegramService.subscribeToMessages((message) => {
+      setMessages((current) =>
+        current.some((m) => m.id === message.id) ? current : [message, ...current]
+      );
+    });
+  }, []);
+
   const loadMessages = async () => {
     try {
       setLoading(true);
@@ -1,4 +1,4 @@
-const UserList = ({ users, onEdit, onDelete }) => {
+const UserList = ({ users, page, totalPages, totalElements, onPageChange, onEdit, onDelete }) => {
   return (
     <div className="user-list">
       <h2>Lista de Usuarios</h2>
@@ -41,6 +41,27 @@ const UserList = ({ users, onEdit, onDelete }) => {
           </tbody>
         </table>
       )}
+      {totalPages > 1 && (
+        <div className="pagination">
+          <button
+            className="btn btn-secondary"
+            onClick={() => onPageChange(page - 1)}
+            disabled={page === 0}
+          >
+            ← Anterior
+          </button>
+          <span>
+            Página {page + 1} de {totalPages} ({totalElements} usuarios)
+          </span>
+          <button
+            className="btn btn-secondary"
+            onClick={() => onPageChange(page + 1)}
+            disabled={page + 1 >= totalPages}
+          >
+            Siguiente →
+          </button>
+        </div>
+      )}
     </div>
   );
 };
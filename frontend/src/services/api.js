@@ -130,11 +130,11 @@ export const authService = {
 
 // Servicio para usuarios
 export const userService = {
-  // Obtener todos los usuarios
-  getAllUsers: async () => {
-    console.log('📋 USER SERVICE - Get All Users');
-    const response = await api.get('/users');
-    console.log('✅ Usuarios obtenidos:', response.data.length);
+  // Obtener una página de usuarios: { content, page, size, totalElements, totalPages }
+  getUsers: async (page = 0, size = 20) => {
+    console.log('📋 USER SERVICE - Get Users, página', page);
+    const response = await api.get('/users', { params: { page, size, sort: 'id' } });
+    console.log('✅ Usuarios obtenidos:', response.data.content.length, 'de', response.data.totalElements);
     return response.data;
   },
 
@@ -174,14 +174,24 @@ export const userService = {
 
 // Servicio para Telegram
 export const telegramService = {
-  // Obtener mensajes del canal
-  getMessages: async () => {
+  // Obtener los últimos mensajes del canal (before: cursor "<messageDate>,<id>" para páginas anteriores)
+  getMessages: async (before = null, limit = 20) => {
     console.log('📰 TELEGRAM SERVICE - Get Messages');
-    const response = await api.get('/telegram/messages');
+    const params = before ? { before, limit } : { limit };
+    const response = await api.get('/telegram/messages', { params });
     console.log('✅ Mensajes obtenidos:', response.data.length);
     return response.data;
   },
 
+  // Suscribirse a las noticias nuevas (SSE); devuelve la función para cerrar la conexión
+  subscribeToMessages: (onMessage) => {
+    const source = new EventSource(`${API_BASE_URL}/telegram/messages/stream`);
+    source.addEventListener('message', (event) => {
+      onMessage(JSON.parse(event.data));
+    });
+    return () => source.close();
+  },
+
   // Forzar actualización de mensajes
   fetchMessages: async () => {
     console.log('🔄 TELEGRAM SERVICE - Fetch Messages');